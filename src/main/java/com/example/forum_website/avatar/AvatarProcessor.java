@@ -0,0 +1,314 @@
+package com.example.forum_website.avatar;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.ServiceUnavailableException;
+import com.example.forum_website.exception.ValidationException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns an uploaded image into the fixed set of {@link AvatarVariant}s. The upload is decoded
+ * once, already cropped to a centred square and subsampled to about twice the largest variant,
+ * and each smaller variant is scaled from the one before it. Pages then fetch a few kilobytes
+ * at the size they display instead of the original photo.
+ * <p>
+ * Decoding is CPU- and memory-heavy, so it runs on the bounded {@code avatarProcessingExecutor};
+ * a full queue or a slow decode fails the upload with {@link ServiceUnavailableException}.
+ */
+@Slf4j
+@Component
+public class AvatarProcessor {
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final String BUNDLED_AVATARS = "classpath:avatar/*";
+
+    private final Path uploadDir;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+    private final long maxPixels;
+
+    private final Timer processTimer;
+    private final Counter rejections;
+
+    public AvatarProcessor(@Value("${app.upload.dir:" + AppConstants.DEFAULT_AVATAR_UPLOAD_DIR + "}") String uploadDir,
+            @Qualifier("avatarProcessingExecutor") ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry,
+            @Value("${app.avatar.timeout-ms:" + AppConstants.DEFAULT_AVATAR_PROCESSING_TIMEOUT_MS + "}") long timeoutMillis,
+            @Value("${app.avatar.max-pixels:" + AppConstants.DEFAULT_AVATAR_MAX_PIXELS + "}") long maxPixels) {
+        this.uploadDir = Paths.get(uploadDir);
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPixels = maxPixels;
+
+        this.processTimer = Timer.builder("forum.avatar.process")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("forum.avatar.process.rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decodes an image file and writes its variants under the given id.
+     *
+     * @return the avatar base name, the id with {@code .png} when the image has transparency and
+     *         {@code .jpg} otherwise
+     * @throws ValidationException if the file is not a readable image or has too many pixels
+     */
+    public String createVariants(Path source, String id) throws IOException {
+        long submitted = System.nanoTime();
+        Future<String> future;
+        try {
+            future = executor.submit(() -> processTimer.recordCallable(() -> {
+                try (InputStream in = Files.newInputStream(source)) {
+                    BufferedImage square = decodeSquare(in);
+                    String avatar = id + (square.getColorModel().hasAlpha() ? ".png" : ".jpg");
+                    writeVariants(square, avatar);
+                    log.debug("Avatar {} processed in {} ms", avatar,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+                    return avatar;
+                }
+            }));
+        } catch (TaskRejectedException e) {
+            rejections.increment();
+            throw busy();
+        }
+        return await(future);
+    }
+
+    /**
+     * Whether every variant of the avatar is on disk.
+     */
+    public boolean hasAllVariants(String avatar) {
+        return Arrays.stream(AvatarVariant.values())
+                .allMatch(variant -> Files.exists(uploadDir.resolve(variant.fileName(avatar))));
+    }
+
+    /**
+     * Removes an avatar's variants, and the original file of an avatar uploaded before variants
+     * existed. The shared default avatar is never removed.
+     */
+    public void delete(String avatar) {
+        if (avatar == null || avatar.isBlank() || AppConstants.DEFAULT_AVATAR_FILENAME.equals(avatar)) {
+            return;
+        }
+        deleteQuietly(uploadDir.resolve(avatar));
+        for (AvatarVariant variant : AvatarVariant.values()) {
+            deleteQuietly(uploadDir.resolve(variant.fileName(avatar)));
+        }
+    }
+
+    /**
+     * Copies the avatars bundled with the application, including the default one, into the
+     * upload directory when missing. Avatars uploaded before variants existed only have their
+     * original file; their variants are generated in the background so the layouts can rely on them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareDirectory() {
+        try {
+            Files.createDirectories(uploadDir);
+            for (Resource bundled : new PathMatchingResourcePatternResolver().getResources(BUNDLED_AVATARS)) {
+                Path target = uploadDir.resolve(bundled.getFilename());
+                if (!Files.exists(target)) {
+                    try (InputStream in = bundled.getInputStream()) {
+                        Files.copy(in, target);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not prepare avatar directory {}: {}", uploadDir.toAbsolutePath(), e.getMessage());
+            return;
+        }
+        try {
+            executor.execute(this::backfill);
+        } catch (TaskRejectedException e) {
+            log.warn("Skipped avatar variant backfill: {}", e.getMessage());
+        }
+    }
+
+    private void backfill() {
+        int generated = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir, Files::isRegularFile)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(".") || AvatarVariant.isVariantName(name) || hasAllVariants(name)) {
+                    continue;
+                }
+                try (InputStream in = Files.newInputStream(file)) {
+                    writeVariants(decodeSquare(in), name);
+                    generated++;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not generate variants for avatar {}: {}", name, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Avatar variant backfill failed: {}", e.getMessage());
+        }
+        if (generated > 0) {
+            log.info("Generated variants for {} existing avatars", generated);
+        }
+    }
+
+    BufferedImage decodeSquare(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new ValidationException(ErrorCode.AVATAR_UPLOAD_INVALID_TYPE);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Checked from the header, before a huge image is allocated
+                if ((long) width * height > maxPixels) {
+                    throw new ValidationException(ErrorCode.AVATAR_UPLOAD_TOO_LARGE);
+                }
+                int side = Math.min(width, height);
+                int step = Math.max(1, side / (AvatarVariant.LARGE.getPixels() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new ValidationException(ErrorCode.AVATAR_UPLOAD_INVALID_TYPE);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeVariants(BufferedImage square, String avatar) throws IOException {
+        Files.createDirectories(uploadDir);
+        boolean png = AvatarVariant.extension(avatar).equals(".png");
+        BufferedImage source = square;
+        AvatarVariant[] variants = AvatarVariant.values();
+        // Largest first, so each size is scaled from the closest larger one
+        for (int i = variants.length - 1; i >= 0; i--) {
+            source = scale(source, variants[i].getPixels(), png);
+            write(source, uploadDir.resolve(variants[i].fileName(avatar)), png);
+        }
+    }
+
+    // Repeated halving with bilinear filtering, which averages like an area filter but stays fast
+    static BufferedImage scale(BufferedImage image, int target, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int size = image.getWidth();
+        do {
+            size = size / 2 >= target ? size / 2 : target;
+            BufferedImage next = new BufferedImage(size, size, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    // Transparent pixels of a palette image would otherwise turn black
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, size, size);
+                }
+                g.drawImage(current, 0, 0, size, size, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (size > target);
+        return current;
+    }
+
+    // Written beside the target and moved into place, so a half-written file is never served
+    private static void write(BufferedImage image, Path target, boolean png) throws IOException {
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(png ? "png" : "jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (!png) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                    param.setProgressiveMode(ImageWriteParam.MODE_DISABLED);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete avatar file {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    private String await(Future<String> future) throws IOException {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException(ErrorCode.AVATAR_BUSY, AppConstants.AVATAR_PROCESSING_RETRY_AFTER_SECONDS);
+    }
+}
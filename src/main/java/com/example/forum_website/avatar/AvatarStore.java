@@ -0,0 +1,243 @@
+package com.example.forum_website.avatar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.ValidationException;
+import com.example.forum_website.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed avatar storage. An upload is streamed from the request straight to a
+ * temporary file while a SHA-256 digest and the byte count are updated, so the size limit holds
+ * without buffering and the type comes from the leading magic bytes, not the client's header.
+ * The digest names the avatar: an image that is already stored is not decoded again, and every
+ * user who uploads it shares the same files.
+ * <p>
+ * A replaced avatar is only queued for collection. The periodic collector deletes its files once
+ * no user row refers to it, which makes the {@code users.avatar} column the reference count.
+ * Avatars stored during the last grace period are never collected, which covers an upload that
+ * found shared files just before their last user moved away.
+ */
+@Slf4j
+@Component
+public class AvatarStore {
+    private static final Pattern CONTENT_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final byte[][] SIGNATURES = {
+        {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},                                  // JPEG
+        {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'},                     // PNG
+        {'G', 'I', 'F', '8', '7', 'a'},
+        {'G', 'I', 'F', '8', '9', 'a'}
+    };
+    private static final int SIGNATURE_BYTES = 8;
+    private static final String[] EXTENSIONS = {".jpg", ".png"};
+
+    private final AvatarProcessor avatarProcessor;
+    private final UserRepository userRepository;
+    private final Path uploadDir;
+    private final long maxBytes;
+    private final long graceMillis;
+    private final LongSupplier clock;
+
+    private final Set<String> pendingCollection = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> lastStored = new ConcurrentHashMap<>();
+    private final ReentrantLock collectionLock = new ReentrantLock();
+    private final Counter deduplicated;
+    private final Counter collected;
+
+    @Autowired
+    public AvatarStore(AvatarProcessor avatarProcessor, UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.upload.dir:" + AppConstants.DEFAULT_AVATAR_UPLOAD_DIR + "}") String uploadDir,
+            @Value("${app.avatar.gc-grace-ms:" + AppConstants.DEFAULT_AVATAR_GC_GRACE_MS + "}") long graceMillis) {
+        this(avatarProcessor, userRepository, meterRegistry, Paths.get(uploadDir), AppConstants.MAX_AVATAR_FILE_SIZE,
+                graceMillis, System::currentTimeMillis);
+    }
+
+    AvatarStore(AvatarProcessor avatarProcessor, UserRepository userRepository, MeterRegistry meterRegistry,
+            Path uploadDir, long maxBytes, long graceMillis, LongSupplier clock) {
+        this.avatarProcessor = avatarProcessor;
+        this.userRepository = userRepository;
+        this.uploadDir = uploadDir;
+        this.maxBytes = maxBytes;
+        this.graceMillis = graceMillis;
+        this.clock = clock;
+
+        this.deduplicated = Counter.builder("forum.avatar.deduplicated")
+                .register(meterRegistry);
+        this.collected = Counter.builder("forum.avatar.collected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores an uploaded image, or finds the identical one already stored.
+     *
+     * @return the avatar base name to record for the user
+     * @throws ValidationException if the body is empty, too large or not a JPEG, PNG or GIF
+     */
+    public String store(InputStream body) throws IOException {
+        Files.createDirectories(uploadDir);
+        Path temp = uploadDir.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            String id = copyWithDigest(body, temp);
+            collectionLock.lock();
+            try {
+                // Marked before looking, so the collector cannot remove what this upload is about to use
+                for (String extension : EXTENSIONS) {
+                    lastStored.put(id + extension, clock.getAsLong());
+                }
+                for (String extension : EXTENSIONS) {
+                    if (avatarProcessor.hasAllVariants(id + extension)) {
+                        deduplicated.increment();
+                        return id + extension;
+                    }
+                }
+            } finally {
+                collectionLock.unlock();
+            }
+            return avatarProcessor.createVariants(temp, id);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Marks an avatar as no longer used by one user; its files go once nobody uses it.
+     */
+    public void release(String avatar) {
+        if (avatar != null && !avatar.isBlank() && !AppConstants.DEFAULT_AVATAR_FILENAME.equals(avatar)) {
+            pendingCollection.add(avatar);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.avatar.gc-interval-ms:" + AppConstants.DEFAULT_AVATAR_GC_INTERVAL_MS + "}",
+            fixedDelayString = "${app.avatar.gc-interval-ms:" + AppConstants.DEFAULT_AVATAR_GC_INTERVAL_MS + "}")
+    public void collectGarbage() {
+        long now = clock.getAsLong();
+        lastStored.values().removeIf(stored -> now - stored >= graceMillis);
+        for (Iterator<String> it = pendingCollection.iterator(); it.hasNext();) {
+            String avatar = it.next();
+            collectionLock.lock();
+            try {
+                if (lastStored.containsKey(avatar)) {
+                    continue;
+                }
+                try {
+                    if (userRepository.countByAvatar(avatar) == 0) {
+                        avatarProcessor.delete(avatar);
+                        collected.increment();
+                    }
+                    it.remove();
+                } catch (RuntimeException e) {
+                    log.warn("Avatar collection of {} failed, will retry: {}", avatar, e.getMessage());
+                }
+            } finally {
+                collectionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Queues content-addressed avatars that no user refers to, such as those left behind by an
+     * upload that failed after its files were written.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void queueOrphans() {
+        if (!Files.isDirectory(uploadDir)) {
+            return;
+        }
+        try {
+            Set<String> referenced = new HashSet<>(userRepository.findDistinctAvatars());
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir, Files::isRegularFile)) {
+                for (Path file : files) {
+                    String avatar = avatarOf(file.getFileName().toString());
+                    if (avatar != null && !referenced.contains(avatar)) {
+                        pendingCollection.add(avatar);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not scan {} for orphaned avatars: {}", uploadDir.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    // Base name of a content-addressed variant file, or null for anything else
+    private static String avatarOf(String fileName) {
+        int dash = fileName.lastIndexOf('-');
+        int dot = fileName.lastIndexOf('.');
+        if (dash < 0 || dot < dash || !CONTENT_ID.matcher(fileName.substring(0, dash)).matches()) {
+            return null;
+        }
+        return fileName.substring(0, dash) + AvatarVariant.extension(fileName);
+    }
+
+    private String copyWithDigest(InputStream body, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.readNBytes(buffer, 0, total == 0 ? SIGNATURE_BYTES : buffer.length)) > 0) {
+                if (total == 0 && !hasImageSignature(buffer, read)) {
+                    throw new ValidationException(ErrorCode.AVATAR_UPLOAD_INVALID_TYPE);
+                }
+                total += read;
+                if (total > maxBytes) {
+                    throw new ValidationException(ErrorCode.AVATAR_UPLOAD_TOO_LARGE);
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        if (total == 0) {
+            throw new ValidationException(ErrorCode.AVATAR_UPLOAD_EMPTY);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean hasImageSignature(byte[] head, int length) {
+        for (byte[] signature : SIGNATURES) {
+            if (length >= signature.length && Arrays.equals(head, 0, signature.length, signature, 0, signature.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
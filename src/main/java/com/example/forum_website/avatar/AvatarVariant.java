@@ -0,0 +1,71 @@
+package com.example.forum_website.avatar;
+
+import java.util.Locale;
+
+import com.example.forum_website.constant.AppConstants;
+
+/**
+ * The sizes every avatar is stored at. An avatar is recorded by its base name, {@code <id>.jpg}
+ * or {@code <id>.png}; each variant lives next to it as {@code <id>-<pixels>.<ext>}.
+ */
+public enum AvatarVariant {
+    SMALL(32),
+    MEDIUM(64),
+    LARGE(256);
+
+    private final int pixels;
+
+    AvatarVariant(int pixels) {
+        this.pixels = pixels;
+    }
+
+    public int getPixels() {
+        return pixels;
+    }
+
+    /**
+     * File name of this variant for an avatar base name; {@code null} stands for the default avatar.
+     */
+    public String fileName(String avatar) {
+        String base = avatar == null || avatar.isBlank() ? AppConstants.DEFAULT_AVATAR_FILENAME : avatar;
+        int dot = base.lastIndexOf('.');
+        String stem = dot > 0 ? base.substring(0, dot) : base;
+        return stem + "-" + pixels + extension(base);
+    }
+
+    /**
+     * URL of this variant for an avatar base name, as served from the avatar directory.
+     */
+    public String url(String avatar) {
+        return "/avatar/" + fileName(avatar);
+    }
+
+    /**
+     * The smallest variant at least {@code pixels} wide, or the largest one.
+     */
+    public static AvatarVariant forDisplaySize(int pixels) {
+        for (AvatarVariant variant : values()) {
+            if (variant.pixels >= pixels) {
+                return variant;
+            }
+        }
+        return LARGE;
+    }
+
+    /**
+     * Variants keep transparency as PNG; everything else is re-encoded as JPEG.
+     */
+    static String extension(String avatar) {
+        return avatar.toLowerCase(Locale.ROOT).endsWith(".png") ? ".png" : ".jpg";
+    }
+
+    static boolean isVariantName(String fileName) {
+        for (AvatarVariant variant : values()) {
+            int dot = fileName.lastIndexOf('.');
+            if (dot > 0 && fileName.substring(0, dot).endsWith("-" + variant.pixels)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
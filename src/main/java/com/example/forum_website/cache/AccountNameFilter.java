@@ -0,0 +1,190 @@
+package com.example.forum_website.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.constant.AppConstants;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bloom filter over every registered username and email. A negative answer is certain, so a
+ * name the filter has never seen is known to be free without a query; a positive answer only
+ * means "maybe" and has to be confirmed against the database.
+ * <p>
+ * Values are lower-cased, matching the case-insensitive collation of the unique indexes. The
+ * filter is filled from the users table at startup and added to on every registration or email
+ * change made through this instance. Accounts written elsewhere, by the bulk importer or another
+ * instance, are only learned when the filter is rebuilt from the table, every
+ * {@code app.register.name-filter.rebuild-interval-ms}; until then the availability check may call
+ * such a name free. Registration itself is still refused by the unique keys. A removed name stays
+ * a "maybe" until the next rebuild, which only costs one lookup. Until the first load finishes
+ * every answer is "maybe".
+ */
+@Slf4j
+@Component
+public class AccountNameFilter {
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int words;
+    private volatile AtomicLongArray bits;
+    // Set while a rebuild fills it, so names added during the scan also land in the new filter
+    private volatile AtomicLongArray rebuilding;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder definitelyFree = new LongAdder();
+    private final LongAdder maybeTaken = new LongAdder();
+    private volatile boolean loaded;
+
+    public AccountNameFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${app.register.name-filter.expected-entries:" + AppConstants.DEFAULT_NAME_FILTER_EXPECTED_ENTRIES + "}") long expectedEntries,
+            @Value("${app.register.name-filter.false-positive-rate:" + AppConstants.DEFAULT_NAME_FILTER_FALSE_POSITIVE_RATE + "}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Standard sizing: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hash functions
+        long bitsNeeded = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = (int) Math.max(1, (bitsNeeded + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedEntries * Math.log(2)));
+
+        FunctionCounter.builder("forum.register.name-filter.requests", definitelyFree, LongAdder::sum)
+                .tag("result", "free")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.register.name-filter.requests", maybeTaken, LongAdder::sum)
+                .tag("result", "maybe")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads usernames and emails in id order, a page at a time, into a fresh filter and swaps it in.
+     * The current filter keeps answering meanwhile; if the rebuild fails it stays in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.register.name-filter.rebuild-interval-ms:" + AppConstants.DEFAULT_NAME_FILTER_REBUILD_INTERVAL_MS + "}",
+            fixedDelayString = "${app.register.name-filter.rebuild-interval-ms:" + AppConstants.DEFAULT_NAME_FILTER_REBUILD_INTERVAL_MS + "}")
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        AtomicLongArray target = new AtomicLongArray(words);
+        rebuilding = target;
+        try {
+            long lastId = 0;
+            long count = 0;
+            while (true) {
+                List<Object[]> page = jdbcTemplate.query(
+                        "SELECT id, username, email FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId, AppConstants.NAME_FILTER_LOAD_BATCH_SIZE);
+                for (Object[] row : page) {
+                    put(target, (String) row[1], (String) row[2]);
+                    lastId = (Long) row[0];
+                }
+                count += page.size();
+                if (page.size() < AppConstants.NAME_FILTER_LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+            bits = target;
+            loaded = true;
+            log.info("Loaded {} accounts into the name filter ({} KB, {} hashes) in {} ms",
+                    count, bitCount / 8 / 1024, hashCount, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild the account name filter, keeping the current one: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    public void add(String username, String email) {
+        AtomicLongArray target = rebuilding;
+        put(bits, username, email);
+        if (target != null) {
+            put(target, username, email);
+        }
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(USERNAME_PREFIX + normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(EMAIL_PREFIX + normalize(email));
+    }
+
+    private boolean mightContain(String key) {
+        if (loaded) {
+            AtomicLongArray bits = this.bits;
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            boolean all = true;
+            for (int i = 1; i <= hashCount && all; i++) {
+                long bit = index(h1 + i * h2);
+                all = (bits.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+            }
+            if (!all) {
+                definitelyFree.increment();
+                return false;
+            }
+        }
+        maybeTaken.increment();
+        return true;
+    }
+
+    private void put(AtomicLongArray bits, String username, String email) {
+        if (username != null) {
+            put(bits, USERNAME_PREFIX + normalize(username));
+        }
+        if (email != null) {
+            put(bits, EMAIL_PREFIX + normalize(email));
+        }
+    }
+
+    private void put(AtomicLongArray bits, String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    // Kirsch-Mitzenmacher: the k indexes come from two halves of one 64-bit hash
+    private long index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a final mix so that both halves are usable
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.forum_website.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size-bounded map whose entries carry their own expiry time.
+ * When full, expired entries are swept first, then an arbitrary tenth of the live ones.
+ */
+public class ExpiringCache<K, V> {
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public ExpiringCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key, long now) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt > now) {
+            return entry.value;
+        }
+        entries.remove(key, entry);
+        return null;
+    }
+
+    public void put(K key, V value, long expiresAt) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            shrink(System.currentTimeMillis());
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void shrink(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int toRemove = entries.size() - (maxSize - Math.max(1, maxSize / 10));
+        Iterator<K> iterator = entries.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
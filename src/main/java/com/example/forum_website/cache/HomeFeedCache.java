@@ -0,0 +1,159 @@
+package com.example.forum_website.cache;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.dto.CursorPage;
+import com.example.forum_website.dto.ThreadSummaryDto;
+import com.example.forum_website.event.ThreadCreatedEvent;
+import com.example.forum_website.service.ThreadService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rendered HTML of the first page of the home feed, one entry per supported language; the theme
+ * is applied by the page layout, so the fragment is the same for every theme.
+ * Entries are served stale while a single background render refreshes them; posting a thread
+ * marks every entry stale and schedules that refresh straight away.
+ */
+@Slf4j
+@Component
+public class HomeFeedCache {
+    private static final String FEED_TEMPLATE = "client/layouts/thread_feed";
+    private static final Set<String> FEED_FRAGMENT = Set.of("feed");
+    private static final List<String> SUPPORTED_LANGUAGES = List.of(AppConstants.SUPPORTED_LANGUAGES);
+
+    private final ThreadService threadService;
+    private final ITemplateEngine templateEngine;
+    private final Executor refreshExecutor;
+    private final int pageSize;
+    private final long freshMillis;
+    private final long maxStaleMillis;
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    public HomeFeedCache(ThreadService threadService, ITemplateEngine templateEngine,
+            @Qualifier("homeFeedRefreshExecutor") Executor refreshExecutor, MeterRegistry meterRegistry,
+            @Value("${thread.page.size:" + AppConstants.DEFAULT_THREAD_PAGE_SIZE + "}") int pageSize,
+            @Value("${app.cache.home-feed.fresh-ms:" + AppConstants.DEFAULT_HOME_FEED_FRESH_MS + "}") long freshMillis,
+            @Value("${app.cache.home-feed.max-stale-ms:" + AppConstants.DEFAULT_HOME_FEED_MAX_STALE_MS + "}") long maxStaleMillis) {
+        this.threadService = threadService;
+        this.templateEngine = templateEngine;
+        this.refreshExecutor = refreshExecutor;
+        this.pageSize = pageSize;
+        this.freshMillis = freshMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        this.freshHits = Counter.builder("forum.cache.home_feed.requests").tag("result", "fresh").register(meterRegistry);
+        this.staleHits = Counter.builder("forum.cache.home_feed.requests").tag("result", "stale").register(meterRegistry);
+        this.misses = Counter.builder("forum.cache.home_feed.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    public RenderedFeed get(Locale locale) {
+        String language = locale != null && SUPPORTED_LANGUAGES.contains(locale.getLanguage())
+                ? locale.getLanguage() : AppConstants.DEFAULT_LOCALE;
+        Slot slot = slots.computeIfAbsent(language, key -> new Slot(new Locale(language)));
+
+        RenderedFeed feed = slot.feed;
+        if (feed != null) {
+            long age = System.currentTimeMillis() - feed.renderedAt();
+            if (age < freshMillis && feed.generation() == generation.get()) {
+                freshHits.increment();
+                return feed;
+            }
+            if (age < maxStaleMillis) {
+                staleHits.increment();
+                refreshAsync(slot);
+                return feed;
+            }
+        }
+        misses.increment();
+        return refreshNow(slot, feed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThreadCreated(ThreadCreatedEvent event) {
+        generation.incrementAndGet();
+        slots.values().forEach(this::refreshAsync);
+    }
+
+    private RenderedFeed refreshNow(Slot slot, RenderedFeed seen) {
+        slot.lock.lock();
+        try {
+            // Another request may have rendered it while we were waiting for the lock
+            RenderedFeed current = slot.feed;
+            if (current != null && current != seen) {
+                return current;
+            }
+            return render(slot);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private void refreshAsync(Slot slot) {
+        if (!slot.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                slot.lock.lock();
+                try {
+                    render(slot);
+                } catch (Exception e) {
+                    log.warn("Background refresh of home feed {} failed: {}", slot.locale, e.getMessage());
+                } finally {
+                    slot.lock.unlock();
+                    slot.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slot.refreshing.set(false);
+        }
+    }
+
+    private RenderedFeed render(Slot slot) {
+        long renderGeneration = generation.get();
+        CursorPage<ThreadSummaryDto> page = threadService.getThreadFeed(null, pageSize);
+        Context context = new Context(slot.locale);
+        context.setVariable("threads", page.getContent());
+        String html = templateEngine.process(FEED_TEMPLATE, FEED_FRAGMENT, context);
+        RenderedFeed feed = new RenderedFeed(html, page.getNext(), System.currentTimeMillis(), renderGeneration);
+        slot.feed = feed;
+        return feed;
+    }
+
+    public record RenderedFeed(String html, String nextCursor, long renderedAt, long generation) {
+    }
+
+    private static final class Slot {
+        private final Locale locale;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile RenderedFeed feed;
+
+        private Slot(Locale locale) {
+            this.locale = locale;
+        }
+    }
+}
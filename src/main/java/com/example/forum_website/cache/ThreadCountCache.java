@@ -0,0 +1,53 @@
+package com.example.forum_website.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.event.ThreadCreatedEvent;
+import com.example.forum_website.repository.ThreadRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Approximate number of threads, kept off the request path: counted at startup and on a
+ * fixed delay, and bumped in between as threads are inserted.
+ */
+@Slf4j
+@Component
+public class ThreadCountCache {
+    private static final long UNKNOWN = -1;
+
+    private final ThreadRepository threadRepository;
+    private final AtomicLong total = new AtomicLong(UNKNOWN);
+
+    public ThreadCountCache(ThreadRepository threadRepository) {
+        this.threadRepository = threadRepository;
+    }
+
+    public long getApproximateTotal() {
+        long value = total.get();
+        return value == UNKNOWN ? 0 : value;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.cache.thread-count.refresh-ms:" + AppConstants.DEFAULT_THREAD_COUNT_REFRESH_MS + "}",
+            fixedDelayString = "${app.cache.thread-count.refresh-ms:" + AppConstants.DEFAULT_THREAD_COUNT_REFRESH_MS + "}")
+    public void refresh() {
+        try {
+            total.set(threadRepository.count());
+        } catch (Exception e) {
+            log.warn("Failed to refresh thread count: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThreadCreated(ThreadCreatedEvent event) {
+        total.updateAndGet(value -> value == UNKNOWN ? UNKNOWN : value + 1);
+    }
+}
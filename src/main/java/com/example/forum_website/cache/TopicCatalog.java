@@ -0,0 +1,161 @@
+package com.example.forum_website.cache;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.event.TopicChangedEvent;
+import com.example.forum_website.model.Topic;
+import com.example.forum_website.repository.TopicRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the topics table. Readers see an immutable snapshot; a reload builds a
+ * new one and swaps the reference, so lookups never lock or touch the database.
+ */
+@Slf4j
+@Component
+public class TopicCatalog {
+    private final TopicRepository topicRepository;
+    private final AtomicLong lastReloadAt = new AtomicLong();
+    private final AtomicLong reloadsStarted = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    // Generation of the reload that built the current snapshot, guarded by this
+    private long publishedGeneration;
+
+    public TopicCatalog(TopicRepository topicRepository, MeterRegistry meterRegistry) {
+        this.topicRepository = topicRepository;
+
+        FunctionCounter.builder("forum.cache.topic.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.cache.topic.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("forum.cache.topic.size", this, TopicCatalog::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the topic name, or null if the id is unknown. An unknown id triggers at most one
+     * reload per {@link AppConstants#TOPIC_CATALOG_MISS_RELOAD_INTERVAL_MS} in case the topic was
+     * added outside this application.
+     */
+    public String getName(Long topicId) {
+        if (topicId == null) {
+            return null;
+        }
+        String name = snapshot.get(topicId);
+        if (name != null) {
+            hits.increment();
+            return name;
+        }
+        misses.increment();
+        long last = lastReloadAt.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= AppConstants.TOPIC_CATALOG_MISS_RELOAD_INTERVAL_MS && lastReloadAt.compareAndSet(last, now)) {
+            reload();
+            return snapshot.get(topicId);
+        }
+        return null;
+    }
+
+    public boolean contains(Long topicId) {
+        return topicId != null && snapshot.get(topicId) != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        long generation = reloadsStarted.incrementAndGet();
+        try {
+            Snapshot loaded = Snapshot.of(topicRepository.findAll());
+            if (publish(generation, loaded)) {
+                lastReloadAt.set(System.currentTimeMillis());
+                log.info("Topic catalog loaded with {} topics", loaded.size());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load topic catalog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Swaps in a loaded snapshot unless a reload that started later has already published. That
+     * reload read the table no earlier than this one, so a slow, older read never overwrites it.
+     */
+    private synchronized boolean publish(long generation, Snapshot loaded) {
+        if (generation < publishedGeneration) {
+            return false;
+        }
+        snapshot = loaded;
+        publishedGeneration = generation;
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        reload();
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // Sorted primitive ids with parallel names: no boxing on lookup, binary search over a tiny array
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new long[0], new String[0]);
+
+        private final long[] ids;
+        private final String[] names;
+
+        private Snapshot(long[] ids, String[] names) {
+            this.ids = ids;
+            this.names = names;
+        }
+
+        static Snapshot of(List<Topic> topics) {
+            Topic[] sorted = topics.stream()
+                    .filter(topic -> topic.getId() != null)
+                    .sorted(Comparator.comparing(Topic::getId))
+                    .toArray(Topic[]::new);
+            long[] ids = new long[sorted.length];
+            String[] names = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getId();
+                names[i] = sorted[i].getName();
+            }
+            return new Snapshot(ids, names);
+        }
+
+        String get(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? names[index] : null;
+        }
+
+        int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.forum_website.cache;
+
+import com.example.forum_website.model.User;
+import com.example.forum_website.security.UserAuthDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable view of the fields needed to authenticate a request and render the header.
+ * The password hash is deliberately not part of it.
+ */
+@Getter
+@AllArgsConstructor
+public final class UserSnapshot {
+    private final Long id;
+    private final String username;
+    private final String role;
+    private final String fullname;
+    private final String avatar;
+    private final String email;
+    private final String phone;
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getUsername(),
+                user.getRole().name(),
+                user.getFullname(),
+                user.getAvatar(),
+                user.getEmail(),
+                user.getPhone());
+    }
+
+    public UserAuthDto toUserAuthDto() {
+        return new UserAuthDto(id, username, role, fullname, avatar, email, phone);
+    }
+}
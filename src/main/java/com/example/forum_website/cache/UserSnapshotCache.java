@@ -0,0 +1,115 @@
+package com.example.forum_website.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded, TTL-evicting cache of {@link UserSnapshot}s keyed by user id.
+ * Used on the authentication path so that a warm user costs no database query.
+ */
+@Component
+public class UserSnapshotCache {
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final ExpiringCache<Long, UserSnapshot> entries;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserSnapshotCache(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.cache.user.max-size:" + AppConstants.DEFAULT_USER_CACHE_MAX_SIZE + "}") int maxSize,
+            @Value("${app.cache.user.ttl-seconds:" + AppConstants.DEFAULT_USER_CACHE_TTL_SECONDS + "}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new ExpiringCache<>(maxSize);
+
+        FunctionCounter.builder("forum.cache.user.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.cache.user.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("forum.cache.user.size", entries, ExpiringCache::size)
+                .register(meterRegistry);
+    }
+
+    public Optional<UserSnapshot> get(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        UserSnapshot cached = entries.get(userId, now);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        long generation = invalidations.get();
+        Optional<UserSnapshot> snapshot = userRepository.findById(userId).map(UserSnapshot::from);
+        if (snapshot.isPresent()) {
+            // Skip the put if an invalidation raced with the load, the row may already be stale
+            if (generation == invalidations.get()) {
+                entries.put(userId, snapshot.get(), now + ttlMillis);
+            }
+        } else {
+            entries.remove(userId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops the cached snapshot now and, when called inside a transaction, once more after commit
+     * so a concurrent request cannot re-populate it with pre-commit data.
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(Long userId) {
+        invalidations.incrementAndGet();
+        entries.remove(userId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.forum_website.config;
+
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.forum_website.avatar.AvatarServlet;
+import com.example.forum_website.constant.AppConstants;
+
+@Configuration
+public class AvatarConfig {
+
+    // Mapped beside the DispatcherServlet so avatar hits skip handler mapping and resource resolution
+    @Bean
+    public ServletRegistrationBean<AvatarServlet> avatarServlet(
+            @Value("${app.upload.dir:" + AppConstants.DEFAULT_AVATAR_UPLOAD_DIR + "}") String uploadDir) {
+        var registration = new ServletRegistrationBean<>(new AvatarServlet(Paths.get(uploadDir)), "/avatar/*");
+        registration.setName("avatarServlet");
+        return registration;
+    }
+}
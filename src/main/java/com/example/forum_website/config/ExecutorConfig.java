@@ -0,0 +1,66 @@
+package com.example.forum_website.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.forum_website.constant.AppConstants;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Background re-rendering of the cached home feed; refreshes are deduplicated per key
+    @Bean
+    public ThreadPoolTaskExecutor homeFeedRefreshExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(32);
+        executor.setThreadNamePrefix("feed-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Search index load, catch-up and segment flushes; a single thread keeps them in order
+    @Bean
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setThreadNamePrefix("search-index-");
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is CPU-bound: one thread per core keeps a login burst from starving page rendering,
+    // and the bounded queue turns overload into an immediate rejection instead of a growing backlog
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${app.password-hash.threads:0}") int threads,
+            @Value("${app.password-hash.queue-capacity:" + AppConstants.DEFAULT_PASSWORD_HASH_QUEUE_CAPACITY + "}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Avatar decoding and resizing; each job holds a decoded image, so few run at once
+    @Bean
+    public ThreadPoolTaskExecutor avatarProcessingExecutor(
+            @Value("${app.avatar.threads:" + AppConstants.DEFAULT_AVATAR_PROCESSING_THREADS + "}") int threads,
+            @Value("${app.avatar.queue-capacity:" + AppConstants.DEFAULT_AVATAR_PROCESSING_QUEUE_CAPACITY + "}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("avatar-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.forum_website.config;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.forum_website.constant.AppConstants;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache regions, held in process by Caffeine and bounded by entry count.
+ * Every region is created here; Hibernate is set to fail on any region it cannot find, so an
+ * entity cached under a new name cannot silently fall back to an unbounded cache.
+ * <p>
+ * The cache is local to each node, so a write made on another node, or by the importer, is not
+ * seen here until the entry is evicted. User regions and the query regions therefore expire after
+ * {@code app.cache.user.ttl-seconds}, the same bound the user snapshot cache gives a stale
+ * password hash or role.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.entity.user.max-size:" + AppConstants.DEFAULT_USER_ENTITY_CACHE_SIZE + "}") long users,
+            @Value("${app.cache.entity.user-by-email.max-size:" + AppConstants.DEFAULT_USER_BY_EMAIL_ENTITY_CACHE_SIZE + "}") long emails,
+            @Value("${app.cache.entity.topic.max-size:" + AppConstants.DEFAULT_TOPIC_ENTITY_CACHE_SIZE + "}") long topics,
+            @Value("${app.cache.user.ttl-seconds:" + AppConstants.DEFAULT_USER_CACHE_TTL_SECONDS + "}") long userTtlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        create(cacheManager, AppConstants.CACHE_REGION_USER, users, userTtlSeconds);
+        create(cacheManager, AppConstants.CACHE_REGION_USER_NATURAL_ID, users, userTtlSeconds);
+        create(cacheManager, AppConstants.CACHE_REGION_USER_BY_EMAIL, emails, userTtlSeconds);
+        create(cacheManager, AppConstants.CACHE_REGION_TOPIC, topics, 0);
+        // Hibernate always opens the default query region; nothing is cached in it without a region hint
+        create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, emails, userTtlSeconds);
+        // One entry per table, read by every cached query to tell whether its results are stale;
+        // it must outlive every query result, so it never expires
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // maxSize 0 leaves the region unbounded, ttlSeconds 0 keeps entries until evicted
+    private static void create(CacheManager cacheManager, String region, long maxSize, long ttlSeconds) {
+        if (cacheManager.getCache(region) != null) {
+            cacheManager.destroyCache(region);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.forum_website.config;
 
-import java.time.Duration;
 import java.util.Locale;
 
 import org.springframework.context.MessageSource;
@@ -8,21 +7,25 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.i18n.CookieLocaleResolver;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
-import com.example.forum_website.config.ThemeInterceptor;
 import com.example.forum_website.constant.AppConstants;
 import com.example.forum_website.util.MessageUtil;
+import com.example.forum_website.web.VisitorLocaleResolver;
 
 @Configuration
 public class LocaleConfig implements WebMvcConfigurer {
     
     @Autowired
-    private ThemeInterceptor themeInterceptor;
+    private PrecompressedResourceResolver precompressedResourceResolver;
 
     @Bean
     public ResourceBundleMessageSource messageSource() {
@@ -33,12 +36,10 @@ public class LocaleConfig implements WebMvcConfigurer {
         return source;
     }
 
+    // Reads the locale cookie already parsed by VisitorContextFilter
     @Bean
     public LocaleResolver localeResolver() {
-        var resolver = new CookieLocaleResolver(AppConstants.LOCALE_COOKIE_NAME);
-        resolver.setDefaultLocale(new Locale(AppConstants.DEFAULT_LOCALE));
-        resolver.setCookieMaxAge(Duration.ofSeconds(AppConstants.LOCALE_COOKIE_MAX_AGE));
-        return resolver;
+        return new VisitorLocaleResolver(new Locale(AppConstants.DEFAULT_LOCALE));
     }
 
     @Bean
@@ -51,7 +52,29 @@ public class LocaleConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(localeChangeInterceptor());
-        registry.addInterceptor(themeInterceptor);
+    }
+
+    // Fingerprinted URLs (theme-<md5>.css) are immutable; plain ones are revalidated on each use
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : AppConstants.STATIC_ASSET_DIRECTORIES) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .setCacheControl(CacheControl.noCache())
+                    .resourceChain(true)
+                    .addResolver(precompressedResourceResolver)
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+                    // Registered here so the link rewriting reads the original text and the
+                    // precompressed resolver, outermost, sets the headers on every encoding
+                    .addTransformer(precompressedResourceResolver)
+                    .addTransformer(new CssLinkResourceTransformer());
+        }
+    }
+
+    // Rewrites @{/css/...} and @{/js/...} links in templates to their fingerprinted names
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
     }
 
     @Bean
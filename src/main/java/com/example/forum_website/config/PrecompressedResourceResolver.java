@@ -0,0 +1,255 @@
+package com.example.forum_website.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.ResourceTransformer;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+
+import com.example.forum_website.constant.AppConstants;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Static asset resolver and transformer. As a resolver, placed in front of
+ * {@code VersionResourceResolver}, it marks a request for a fingerprinted name
+ * ({@code theme-<md5>.css}) immutable, since a change to the file changes the name; plain names keep
+ * the handler's revalidating cache headers. As the outermost transformer it lets the others, such
+ * as {@code CssLinkResourceTransformer}, work on the original text, then serves text assets gzipped
+ * to a request that accepts it. Files are gzipped once, at startup, at the highest compression
+ * level and kept in memory; a file a transformer rewrote is compressed once and cached by the
+ * resource chain. Both encodings carry the same cache headers and {@code Vary: Accept-Encoding}.
+ */
+@Slf4j
+@Component
+public class PrecompressedResourceResolver extends AbstractResourceResolver implements ResourceTransformer {
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of("css", "js", "svg", "json", "txt");
+    private static final double MIN_COMPRESSION_RATIO = 0.9;
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Keyed by resource URL; empty when gzip would not make the file meaningfully smaller
+    private final Map<String, Optional<byte[]>> gzipped = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompress() {
+        long originalBytes = 0;
+        long compressedBytes = 0;
+        try {
+            var resolver = new PathMatchingResourcePatternResolver();
+            for (String directory : AppConstants.STATIC_ASSET_DIRECTORIES) {
+                for (Resource resource : resolver.getResources("classpath:/static/" + directory + "/**/*")) {
+                    String extension = StringUtils.getFilenameExtension(resource.getFilename());
+                    if (!resource.isReadable() || extension == null
+                            || !COMPRESSIBLE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+                        continue;
+                    }
+                    Optional<byte[]> body = gzipped(resource);
+                    originalBytes += resource.contentLength();
+                    compressedBytes += body.map(bytes -> (long) bytes.length).orElse(resource.contentLength());
+                }
+            }
+            log.info("Precompressed static assets: {} KB -> {} KB", originalBytes / 1024, compressedBytes / 1024);
+        } catch (IOException e) {
+            log.warn("Static asset precompression failed, assets will be compressed on first use: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+            List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource == null || resource.getFilename() == null) {
+            return resource;
+        }
+        boolean fingerprinted = !requestPath.endsWith(resource.getFilename());
+        boolean compressible = COMPRESSIBLE_EXTENSIONS.contains(
+                StringUtils.getFilenameExtension(resource.getFilename().toLowerCase(Locale.ROOT)));
+        if (!fingerprinted && !compressible) {
+            return resource;
+        }
+        return new AssetResource(resource, null, false, compressible, fingerprinted,
+                compressible && acceptsGzip(request));
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+            throws IOException {
+        Resource transformed = chain.transform(request, resource);
+        if (!(resource instanceof AssetResource asset)) {
+            return transformed;
+        }
+        // The inner transformers hand back a plain resource, which would lose the asset's headers
+        byte[] content = transformed != resource ? transformed.getContentAsByteArray() : null;
+        if (asset.acceptsGzip) {
+            try {
+                Optional<byte[]> body = content != null ? compress(content) : gzipped(asset.original);
+                if (body.isPresent()) {
+                    return asset.withBody(body.get(), true);
+                }
+            } catch (IOException e) {
+                log.debug("Serving {} uncompressed: {}", asset.getFilename(), e.getMessage());
+            }
+        }
+        return content != null ? asset.withBody(content, false) : asset;
+    }
+
+    private Optional<byte[]> gzipped(Resource resource) throws IOException {
+        String key = resource.getURL().toExternalForm();
+        Optional<byte[]> body = gzipped.get(key);
+        if (body == null) {
+            body = compress(resource.getContentAsByteArray());
+            gzipped.putIfAbsent(key, body);
+        }
+        return body;
+    }
+
+    private static Optional<byte[]> compress(byte[] original) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(original.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(original);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < original.length * MIN_COMPRESSION_RATIO
+                ? Optional.of(compressed) : Optional.empty();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request != null ? request.getHeader(HttpHeaders.ACCEPT_ENCODING) : null;
+        return accept != null && accept.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    /**
+     * The resolved asset with its cache headers and, once transformed, the bytes to serve in place
+     * of its own content.
+     */
+    private static final class AssetResource extends AbstractResource implements HttpResource {
+        private final Resource original;
+        private final byte[] body;
+        private final boolean gzip;
+        private final boolean compressible;
+        private final boolean fingerprinted;
+        private final boolean acceptsGzip;
+
+        AssetResource(Resource original, byte[] body, boolean gzip, boolean compressible, boolean fingerprinted,
+                boolean acceptsGzip) {
+            this.original = original;
+            this.body = body;
+            this.gzip = gzip;
+            this.compressible = compressible;
+            this.fingerprinted = fingerprinted;
+            this.acceptsGzip = acceptsGzip;
+        }
+
+        AssetResource withBody(byte[] body, boolean gzip) {
+            return new AssetResource(original, body, gzip, compressible, fingerprinted, acceptsGzip);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return body != null ? new ByteArrayInputStream(body) : original.getInputStream();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return body != null ? body.length : original.contentLength();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            if (body != null) {
+                return super.getFile();
+            }
+            return original.getFile();
+        }
+
+        @Override
+        public boolean exists() {
+            return original.exists();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return original.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return original.getURI();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return original.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return original.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        // Resources are compared by description, and the transformer cache is keyed by resource,
+        // so a request that accepts gzip must not share an entry with one that does not
+        @Override
+        public String getDescription() {
+            return acceptsGzip ? "gzip " + original.getDescription() : original.getDescription();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (original instanceof HttpResource httpResource) {
+                headers.putAll(httpResource.getResponseHeaders());
+            }
+            if (gzip) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            if (compressible) {
+                headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (fingerprinted) {
+                headers.set(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.forum_website.config;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves every entity id sequence past the ids already in its table. Databases created while the
+ * entities used IDENTITY start their new sequences at 1, which would collide with existing rows.
+ * <p>
+ * With the pooled optimizer a fetched value {@code v} hands out {@code v - allocationSize + 1 .. v},
+ * so the sequence has to reach at least {@code max(id) + allocationSize}. On MySQL Hibernate emulates
+ * sequences with a one-row {@code next_val} table; dialects with real sequences are restarted.
+ */
+@Slf4j
+@Component
+public class SequenceInitializer {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceInitializer(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                String sequence = generator.getDatabaseStructure().getPhysicalName().render();
+                int allocationSize = generator.getDatabaseStructure().getIncrementSize();
+                try {
+                    align(dialect, sequence, entityPersister.getTableName(),
+                            entityPersister.getIdentifierColumnNames()[0], allocationSize);
+                } catch (Exception e) {
+                    log.warn("Failed to align sequence {}: {}", sequence, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void align(Dialect dialect, String sequence, String table, String idColumn, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long required = maxId + allocationSize;
+
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next != null && next < required) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+                log.info("Restarted sequence {} at {} (max id {})", sequence, required, maxId);
+            }
+        } else {
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", required, required);
+            if (updated > 0) {
+                log.info("Moved sequence table {} to {} (max id {})", sequence, required, maxId);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.forum_website.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks that users.username and users.email each carry a unique index, which registration relies
+ * on to refuse duplicates under concurrency. {@code ddl-auto=update} quietly skips creating one when
+ * the table already holds duplicates, so a database that predates the keys may not have them.
+ * A missing key is logged with the number of duplicated values to clean up; with
+ * {@code app.register.require-unique-keys=true} the application refuses to start instead.
+ */
+@Slf4j
+@Component
+public class UniqueKeyVerifier {
+    private static final String TABLE = "users";
+    private static final List<String> UNIQUE_COLUMNS = List.of("username", "email");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean required;
+
+    public UniqueKeyVerifier(JdbcTemplate jdbcTemplate,
+            @Value("${app.register.require-unique-keys:false}") boolean required) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.required = required;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        List<String> missing;
+        try {
+            List<List<String>> uniqueIndexes = uniqueIndexColumns();
+            missing = UNIQUE_COLUMNS.stream()
+                    .filter(column -> !uniqueIndexes.contains(List.of(column)))
+                    .toList();
+        } catch (Exception e) {
+            log.warn("Could not verify the unique keys on {}: {}", TABLE, e.getMessage());
+            return;
+        }
+        for (String column : missing) {
+            Long duplicates = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT LOWER(" + column + ") v FROM "
+                    + TABLE + " GROUP BY LOWER(" + column + ") HAVING COUNT(*) > 1) d", Long.class);
+            log.error("No unique key on {}.{} ({} duplicated values); concurrent registrations can create duplicate "
+                    + "accounts until the duplicates are resolved and the key is created", TABLE, column, duplicates);
+        }
+        if (required && !missing.isEmpty()) {
+            throw new IllegalStateException("Missing unique keys on " + TABLE + " for " + missing);
+        }
+    }
+
+    // Columns of each unique index on the table, lower-cased, in index order
+    private List<List<String>> uniqueIndexColumns() {
+        return jdbcTemplate.execute((ConnectionCallback<List<List<String>>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+            Map<String, List<String>> columnsByIndex = new HashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, false)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index, key -> new ArrayList<>()).add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return new ArrayList<>(columnsByIndex.values());
+        });
+    }
+}
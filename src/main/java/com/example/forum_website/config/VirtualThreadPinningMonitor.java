@@ -0,0 +1,115 @@
+package com.example.forum_website.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.constant.AppConstants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the JFR {@code jdk.VirtualThreadPinned} event while requests run on virtual threads.
+ * A virtual thread that blocks inside a {@code synchronized} block or a native frame keeps its
+ * carrier thread, and enough of those starve the carrier pool. Each pin longer than the
+ * threshold is counted in {@code forum.virtualthreads.pinned}, tagged with the layer it happened
+ * in (jdbc, hibernate, application or other); the first pin at each call site is logged with
+ * its stack so it can be fixed.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int LOGGED_FRAMES = 15;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-threshold-ms:" + AppConstants.DEFAULT_PINNING_THRESHOLD_MS + "}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String layer = layer(frames);
+        Timer.builder("forum.virtualthreads.pinned")
+                .tag("layer", layer)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        String site = site(frames);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned its carrier for {} ms in {} code at {}\n\t{}",
+                    event.getDuration().toMillis(), layer, site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::format)
+                            .collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    // The outermost library or application layer on the stack decides where the pin is reported
+    private static String layer(List<RecordedFrame> frames) {
+        String layer = "other";
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.mysql.") || type.startsWith("com.zaxxer.hikari.") || type.startsWith("org.h2.")) {
+                return "jdbc";
+            }
+            if (type.startsWith("org.hibernate.")) {
+                layer = "hibernate";
+            } else if (type.startsWith("com.example.forum_website.") && layer.equals("other")) {
+                layer = "application";
+            }
+        }
+        return layer;
+    }
+
+    // First frame outside the JDK, which is usually the code holding the monitor
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> !frame.getMethod().getType().getName().matches("(java|jdk|sun)\\..*"))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::format)
+                .orElse("unknown");
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -6,28 +6,107 @@ public final class AppConstants {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
     
+    // Persistence
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final int DEFAULT_JDBC_BATCH_SIZE = 50;
+    public static final int BULK_THREAD_MAX_SIZE = 1000;
+    public static final String USERS_USERNAME_UNIQUE_KEY = "uk_users_username";
+    public static final String USERS_EMAIL_UNIQUE_KEY = "uk_users_email";
+    
+    // Second-level cache regions (entries per region)
+    public static final String CACHE_REGION_USER = "user";
+    public static final String CACHE_REGION_USER_NATURAL_ID = "user-by-username";
+    public static final String CACHE_REGION_USER_BY_EMAIL = "user-by-email";
+    public static final String CACHE_REGION_TOPIC = "topic";
+    public static final long DEFAULT_USER_ENTITY_CACHE_SIZE = 50_000;
+    public static final long DEFAULT_USER_BY_EMAIL_ENTITY_CACHE_SIZE = 10_000;
+    public static final long DEFAULT_TOPIC_ENTITY_CACHE_SIZE = 1_000;
+    
     // Pagination
     public static final int DEFAULT_THREAD_PAGE_SIZE = 10;
     
+    // Thread
+    public static final int THREAD_TITLE_MAX_LENGTH = 255;
+    public static final int THREAD_EXCERPT_LENGTH = 200;
+    public static final int EXCERPT_BACKFILL_BATCH_SIZE = 500;
+    
     // Locale
     public static final String DEFAULT_LOCALE = "vi";
+    public static final String DEFAULT_THEME = "light";
     public static final String MESSAGES_BASENAME = "messages/messages";
     public static final String LOCALE_COOKIE_NAME = "locale";
     public static final int LOCALE_COOKIE_MAX_AGE = 365 * 24 * 60 * 60; // 1 year
+    public static final String THEME_COOKIE_NAME = "theme";
+    public static final int THEME_COOKIE_MAX_AGE = 365 * 24 * 60 * 60; // 1 year
+    // Request attribute (and template variable) holding the VisitorContext
+    public static final String VISITOR_ATTRIBUTE = "visitor";
     
     // Avatar
-    public static final String DEFAULT_AVATAR_UPLOAD_DIR = "src/main/resources/static/avatar";
+    public static final String DEFAULT_AVATAR_UPLOAD_DIR = "data/avatar";
     public static final String DEFAULT_AVATAR_FILENAME = "default-avatar.png";
     public static final long MAX_AVATAR_FILE_SIZE = 5 * 1024 * 1024; // 5MB
+    public static final long DEFAULT_AVATAR_MAX_PIXELS = 40_000_000;
+    public static final int DEFAULT_AVATAR_PROCESSING_THREADS = 2;
+    public static final int DEFAULT_AVATAR_PROCESSING_QUEUE_CAPACITY = 16;
+    public static final long DEFAULT_AVATAR_PROCESSING_TIMEOUT_MS = 10 * 1000;
+    public static final long AVATAR_PROCESSING_RETRY_AFTER_SECONDS = 5;
+    public static final long DEFAULT_AVATAR_GC_INTERVAL_MS = 60 * 1000;
+    public static final long DEFAULT_AVATAR_GC_GRACE_MS = 10 * 60 * 1000;
+    
+    // Cache
+    public static final int DEFAULT_USER_CACHE_MAX_SIZE = 10_000;
+    public static final long DEFAULT_USER_CACHE_TTL_SECONDS = 300;
+    public static final long DEFAULT_THREAD_COUNT_REFRESH_MS = 5 * 60 * 1000;
+    public static final long TOPIC_CATALOG_MISS_RELOAD_INTERVAL_MS = 30 * 1000;
+    public static final long DEFAULT_HOME_FEED_FRESH_MS = 60 * 1000;
+    public static final long DEFAULT_HOME_FEED_MAX_STALE_MS = 10 * 60 * 1000;
+    
+    // Password hashing
+    public static final int DEFAULT_PASSWORD_HASH_QUEUE_CAPACITY = 32;
+    public static final long DEFAULT_PASSWORD_HASH_TIMEOUT_MS = 5 * 1000;
+    public static final long PASSWORD_HASH_RETRY_AFTER_SECONDS = 2;
+    
+    // Registration name filter (Bloom filter; two entries per user: username and email)
+    public static final long DEFAULT_NAME_FILTER_EXPECTED_ENTRIES = 2_000_000;
+    public static final double DEFAULT_NAME_FILTER_FALSE_POSITIVE_RATE = 0.01;
+    public static final int NAME_FILTER_LOAD_BATCH_SIZE = 10_000;
+    public static final long DEFAULT_NAME_FILTER_REBUILD_INTERVAL_MS = 10 * 60 * 1000;
+    
+    // Password reset tokens
+    public static final int RESET_TOKEN_BYTES = 32;
+    public static final long DEFAULT_RESET_TOKEN_TTL_MINUTES = 30;
+    public static final long DEFAULT_RESET_TOKEN_SWEEP_INTERVAL_MS = 10 * 60 * 1000;
+    public static final int DEFAULT_RESET_TOKEN_SWEEP_BATCH_SIZE = 1000;
+    public static final int DEFAULT_RESET_TOKEN_SWEEP_MAX_BATCHES = 100;
+    
+    // Rate limiting (permits per minute, also the burst size)
+    public static final int DEFAULT_RATE_LIMIT_MAX_KEYS = 65_536;
+    public static final int DEFAULT_LOGIN_IP_PER_MINUTE = 30;
+    public static final int DEFAULT_LOGIN_USERNAME_PER_MINUTE = 5;
+    public static final int DEFAULT_REGISTER_IP_PER_MINUTE = 5;
+    public static final int DEFAULT_REGISTER_AVAILABLE_IP_PER_MINUTE = 60;
+    public static final int DEFAULT_FORGOT_PASSWORD_IP_PER_MINUTE = 5;
+    public static final int DEFAULT_FORGOT_PASSWORD_EMAIL_PER_MINUTE = 2;
+    
+    // Virtual threads
+    public static final long DEFAULT_PINNING_THRESHOLD_MS = 20;
+    
+    // Import
+    public static final int DEFAULT_IMPORT_BATCH_SIZE = 1000;
+    
+    // Search
+    public static final String DEFAULT_SEARCH_INDEX_DIR = "data/search-index";
+    public static final int DEFAULT_SEARCH_FLUSH_DOCS = 1000;
+    public static final long DEFAULT_SEARCH_FLUSH_INTERVAL_MS = 60 * 1000;
+    public static final int DEFAULT_SEARCH_MAX_SEGMENTS = 10;
+    public static final int SEARCH_CATCH_UP_BATCH_SIZE = 500;
+    public static final int SEARCH_CATCH_UP_ID_BATCH_SIZE = 10_000;
+    public static final int SEARCH_MAX_QUERY_LENGTH = 200;
+    public static final int SEARCH_MAX_QUERY_TERMS = 32;
     
     // Supported values
     public static final String[] SUPPORTED_LANGUAGES = {"vi", "en", "ja"};
     public static final String[] SUPPORTED_THEMES = {"light", "dark", "darkblue"};
-    public static final String[] ALLOWED_IMAGE_TYPES = {
-        "image/jpeg", 
-        "image/png", 
-        "image/gif", 
-        "image/webp"
-    };
+    public static final String[] STATIC_ASSET_DIRECTORIES = {"css", "js", "images"};
 }
 
@@ -13,5 +13,10 @@ public final class JwtConstants {
     
     // JWT Claims
     public static final String CLAIM_USER_ID = "id";
+    
+    // Verified-token cache
+    public static final int DEFAULT_TOKEN_CACHE_MAX_SIZE = 50_000;
+    public static final long DEFAULT_NEGATIVE_CACHE_TTL_SECONDS = 60;
+    public static final int MAX_TOKEN_LENGTH = 4096;
 }
 
@@ -39,6 +39,10 @@ public final class SecurityConstants {
     public static final String ROLE_ADMIN = "ADMIN";
     public static final String ROLE_USER = "USER";
     
+    // Password reset token between /forgot-password and /reset-password, only sent to the latter
+    public static final String RESET_TOKEN_COOKIE_NAME = "resetToken";
+    public static final String RESET_TOKEN_COOKIE_PATH = "/reset-password";
+    
     // Auth clear paths (paths that should clear auth cookies)
     public static final String[] AUTH_CLEAR_PATHS = {"/login", "/register", "/forgot-password"};
 }
@@ -0,0 +1,69 @@
+package com.example.forum_website.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.example.forum_website.cache.TopicCatalog;
+import com.example.forum_website.dto.ApiResponse;
+import com.example.forum_website.dto.CreateThreadDto;
+import com.example.forum_website.enums.ToastType;
+import com.example.forum_website.search.ThreadSearchIndex;
+import com.example.forum_website.service.ThreadService;
+import com.example.forum_website.util.MessageUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Controller
+public class AdminController {
+    @Autowired
+    private TopicCatalog topicCatalog;
+
+    @Autowired
+    private ThreadService threadService;
+
+    @Autowired
+    private ThreadSearchIndex threadSearchIndex;
+
+    @Autowired
+    private MessageUtil messageUtil;
+
+    @PostMapping("/admin/topics/reload")
+    @ResponseBody
+    public ApiResponse reloadTopics() {
+        topicCatalog.reload();
+        log.info("Topic catalog reloaded on request: {} topics", topicCatalog.size());
+        String message = messageUtil.getMessage("admin.topics.reloaded", null);
+        Map<String, Object> data = Map.of("size", topicCatalog.size());
+        return new ApiResponse("ok", ToastType.SUCCESS, message, data);
+    }
+
+    @PostMapping("/admin/search/catch-up")
+    @ResponseBody
+    public ApiResponse catchUpSearchIndex() {
+        threadSearchIndex.requestCatchUp();
+        log.info("Search index catch-up requested");
+        String message = messageUtil.getMessage("admin.search.catchUpStarted", null);
+        return new ApiResponse("ok", ToastType.SUCCESS, message);
+    }
+
+    @PostMapping("/admin/threads/batch")
+    @ResponseBody
+    public ApiResponse createThreads(@RequestBody List<CreateThreadDto> createThreadDtos) {
+        try {
+            int created = threadService.createThreads(createThreadDtos);
+            log.info("Created {} threads in one batch", created);
+            String message = messageUtil.getMessage("thread.batch.created", new Object[] {created});
+            return new ApiResponse("ok", ToastType.SUCCESS, message, Map.of("created", created));
+        } catch (Exception e) {
+            String errorMessage = messageUtil.resolveErrorMessage(e);
+            return new ApiResponse("error", ToastType.ERROR, errorMessage);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.forum_website.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.example.forum_website.dto.ApiResponse;
+import com.example.forum_website.enums.ToastType;
+import com.example.forum_website.exception.ServiceUnavailableException;
+import com.example.forum_website.util.MessageUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+    @Autowired
+    private MessageUtil messageUtil;
+
+    // Overload is answered with a real 503 so clients and load balancers back off
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse> handleServiceUnavailable(ServiceUnavailableException e) {
+        log.debug("Rejected request, service busy: {}", e.getMessage());
+        String errorMessage = messageUtil.resolveErrorMessage(e);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse("error", ToastType.WARNING, errorMessage));
+    }
+}
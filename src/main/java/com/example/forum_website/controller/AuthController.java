@@ -1,29 +1,37 @@
 package com.example.forum_website.controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.example.forum_website.constant.AppConstants;
 import com.example.forum_website.constant.JwtConstants;
+import com.example.forum_website.constant.SecurityConstants;
 import com.example.forum_website.dto.ApiResponse;
 import com.example.forum_website.dto.LoginDto;
 import com.example.forum_website.dto.RegisterDto;
 import com.example.forum_website.dto.ResetPasswordDto;
+import com.example.forum_website.enums.ErrorCode;
 import com.example.forum_website.enums.ToastType;
+import com.example.forum_website.exception.ServiceUnavailableException;
 import com.example.forum_website.service.UserService;
 import com.example.forum_website.util.MessageUtil;
+import com.example.forum_website.web.VisitorContext;
 import java.util.stream.Collectors;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,6 +44,9 @@ public class AuthController {
     @Autowired
     private MessageUtil messageUtil;
 
+    @Value("${app.password-reset.token-ttl-minutes:" + AppConstants.DEFAULT_RESET_TOKEN_TTL_MINUTES + "}")
+    private long resetTokenTtlMinutes;
+
     @GetMapping("/login")
     public String loginPage(Model model, HttpServletResponse response) {
         try {
@@ -66,6 +77,9 @@ public class AuthController {
             userService.authenticateAndSetToken(loginDto, response);
             String message = messageUtil.getMessage("login.success", null);
             return new ApiResponse("ok", ToastType.SUCCESS, message);
+        } catch (ServiceUnavailableException e) {
+            // Answered with 503 and Retry-After by ApiExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.warn("Login failed for username={}: {}", loginDto.getUsername(), e.getMessage());
             String errorMessage = messageUtil.resolveErrorMessage(e);
@@ -106,6 +120,8 @@ public class AuthController {
             userService.registerUser(registerDto);  
             String message = messageUtil.getMessage("register.success", null);
             return new ApiResponse("ok", ToastType.SUCCESS, message);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.warn("Registration failed: {}", e.getMessage());
             String errorMessage = messageUtil.resolveErrorMessage(e);
@@ -113,6 +129,30 @@ public class AuthController {
         }
     }
 
+    // Live check for the signup form; names the filter has never seen are answered without a query
+    @GetMapping("/api/register/available")
+    @ResponseBody
+    public ApiResponse registerAvailable(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        try {
+            Map<String, Boolean> available = userService.checkAvailability(username, email);
+            Map<String, Object> data = new LinkedHashMap<>(available);
+            // Same field -> message shape as validation errors, for the fields that are taken
+            Map<String, String> errors = new LinkedHashMap<>();
+            available.forEach((field, free) -> {
+                if (!free) {
+                    errors.put(field, messageUtil.getErrorMessage("username".equals(field)
+                            ? ErrorCode.REGISTER_USERNAME_EXISTS : ErrorCode.REGISTER_EMAIL_EXISTS));
+                }
+            });
+            data.put("errors", errors);
+            return new ApiResponse("ok", ToastType.SUCCESS, null, data);
+        } catch (Exception e) {
+            String errorMessage = messageUtil.resolveErrorMessage(e);
+            return new ApiResponse("error", ToastType.ERROR, errorMessage);
+        }
+    }
+
     @GetMapping("/forgot-password")
     public String forgotPasswordPage(Model model, HttpServletResponse response) {
         try {
@@ -126,7 +166,7 @@ public class AuthController {
 
     @PostMapping("/forgot-password")
     @ResponseBody
-    public ApiResponse initiatePasswordReset(@RequestBody Map<String, String> body, HttpSession session) {
+    public ApiResponse initiatePasswordReset(@RequestBody Map<String, String> body, HttpServletResponse response) {
         String email = body.get("email");
         if (email == null || email.isBlank()) {
             String errorMessage = messageUtil.getMessage("forgotPassword.email.notBlank", null);
@@ -134,7 +174,7 @@ public class AuthController {
         }
         try {
             String token = userService.initiatePasswordReset(email);
-            session.setAttribute("resetPasswordToken", token);
+            response.addCookie(resetTokenCookie(token, (int) (resetTokenTtlMinutes * 60)));
             String message = messageUtil.getMessage("forgotPassword.success", null);
             return new ApiResponse("ok", ToastType.SUCCESS, message);
         } catch (Exception e) {
@@ -144,9 +184,9 @@ public class AuthController {
     }
 
     @GetMapping("/reset-password")
-    public String resetPasswordPage(HttpSession session, Model model) {
+    public String resetPasswordPage(@RequestAttribute(AppConstants.VISITOR_ATTRIBUTE) VisitorContext visitor, Model model) {
         try {
-            String token = (String) session.getAttribute("resetPasswordToken");
+            String token = visitor.resetToken();
             if (token == null) {
                 return "redirect:/forgot-password?error=resetPassword.invalidToken";
             }
@@ -159,7 +199,7 @@ public class AuthController {
 
     @PostMapping("/reset-password")
     @ResponseBody
-    public ApiResponse resetPassword(@Valid @RequestBody ResetPasswordDto resetPasswordDto, BindingResult result, HttpSession session) {
+    public ApiResponse resetPassword(@Valid @RequestBody ResetPasswordDto resetPasswordDto, BindingResult result, HttpServletResponse response) {
         if (result.hasErrors()) {
             Map<String, String> fieldErrors = result.getFieldErrors()
                     .stream()
@@ -173,15 +213,27 @@ public class AuthController {
         }
         try {
             userService.resetPassword(resetPasswordDto.getToken(), resetPasswordDto.getNewPassword(), resetPasswordDto.getConfirmPassword());
-            session.removeAttribute("resetPasswordToken");
+            response.addCookie(resetTokenCookie(null, 0));
             String message = messageUtil.getMessage("resetPassword.success", null);
             return new ApiResponse("ok", ToastType.SUCCESS, message);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             String errorMessage = messageUtil.resolveErrorMessage(e);
             return new ApiResponse("error", ToastType.ERROR, errorMessage);
         }
     }
 
+    // Only sent back to the reset page and form, never readable from scripts
+    private Cookie resetTokenCookie(String token, int maxAge) {
+        Cookie cookie = new Cookie(SecurityConstants.RESET_TOKEN_COOKIE_NAME, token);
+        cookie.setPath(SecurityConstants.RESET_TOKEN_COOKIE_PATH);
+        cookie.setMaxAge(maxAge);
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Strict");
+        return cookie;
+    }
+
     private void clearAuthCookies(HttpServletResponse response) {
         Cookie tokenCookie = new Cookie(JwtConstants.TOKEN_COOKIE_NAME, null);
         tokenCookie.setPath(JwtConstants.COOKIE_PATH);
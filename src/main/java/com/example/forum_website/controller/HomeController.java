@@ -1,34 +1,55 @@
 package com.example.forum_website.controller;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.example.forum_website.cache.HomeFeedCache;
 import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.dto.ApiResponse;
+import com.example.forum_website.dto.CreateThreadDto;
+import com.example.forum_website.dto.CursorPage;
+import com.example.forum_website.dto.ThreadSummaryDto;
+import com.example.forum_website.enums.ToastType;
 import com.example.forum_website.service.ThreadService;
-import com.example.forum_website.model.Thread;
+import com.example.forum_website.util.MessageUtil;
+
+import jakarta.validation.Valid;
 
 @Controller
 public class HomeController {
     @Autowired
     private ThreadService threadService;
 
+    @Autowired
+    private HomeFeedCache homeFeedCache;
+
+    @Autowired
+    private MessageUtil messageUtil;
+
     @Value("${thread.page.size:" + AppConstants.DEFAULT_THREAD_PAGE_SIZE + "}")
     private int pageSize;
 
     @GetMapping({"/", "/home"})
-    public String home(Model model) {
-        Page<Thread> threads = threadService.getThreads(0, pageSize);
-        model.addAttribute("threads", threads.getContent());
-        model.addAttribute("currentPage", 0);
-        model.addAttribute("totalPages", threads.getTotalPages());
+    public String home(Model model, Locale locale) {
+        HomeFeedCache.RenderedFeed feed = homeFeedCache.get(locale);
+        model.addAttribute("feedHtml", feed.html());
+        model.addAttribute("nextCursor", feed.nextCursor());
+        model.addAttribute("totalThreads", threadService.getApproximateThreadCount());
         return "client/home";
     }
 
@@ -52,7 +73,44 @@ public class HomeController {
 
     @GetMapping("/api/threads")
     @ResponseBody
-    public Page<Thread> getMoreThreads(@RequestParam("page") int page) {
+    public Slice<ThreadSummaryDto> getMoreThreads(@RequestParam("page") int page) {
         return threadService.getThreads(page, pageSize);
     }
+
+    @GetMapping("/api/threads/feed")
+    @ResponseBody
+    public CursorPage<ThreadSummaryDto> getThreadFeed(@RequestParam(value = "cursor", required = false) String cursor) {
+        return threadService.getThreadFeed(cursor, pageSize);
+    }
+
+    @GetMapping("/api/threads/search")
+    @ResponseBody
+    public CursorPage<ThreadSummaryDto> searchThreads(@RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        return threadService.searchThreads(query, cursor, pageSize);
+    }
+
+    @PostMapping("/api/threads")
+    @ResponseBody
+    public ApiResponse createThread(@Valid @RequestBody CreateThreadDto createThreadDto, BindingResult result) {
+        if (result.hasErrors()) {
+            Map<String, Object> fieldErrors = result.getFieldErrors()
+                    .stream()
+                    .collect(Collectors.toMap(
+                            error -> error.getField(),
+                            error -> (Object) messageUtil.getMessage(error.getDefaultMessage(), null),
+                            (existing, replacement) -> existing + "; " + replacement
+                    ));
+            String validationMessage = messageUtil.getMessage("validation.failed", null);
+            return new ApiResponse("error", ToastType.ERROR, validationMessage, fieldErrors);
+        }
+        try {
+            ThreadSummaryDto thread = threadService.createThread(createThreadDto);
+            String message = messageUtil.getMessage("thread.create.success", null);
+            return new ApiResponse("ok", ToastType.SUCCESS, message, Map.of("thread", thread));
+        } catch (Exception e) {
+            String errorMessage = messageUtil.resolveErrorMessage(e);
+            return new ApiResponse("error", ToastType.ERROR, errorMessage);
+        }
+    }
 }
@@ -1,20 +1,13 @@
 package com.example.forum_website.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -23,15 +16,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.support.RequestContextUtils;
 
+import com.example.forum_website.avatar.AvatarStore;
 import com.example.forum_website.constant.AppConstants;
 import com.example.forum_website.dto.ApiResponse;
 import com.example.forum_website.dto.ChangePasswordDto;
 import com.example.forum_website.dto.ChangeProfileDto;
 import com.example.forum_website.enums.ToastType;
+import com.example.forum_website.exception.ServiceUnavailableException;
 import com.example.forum_website.service.UserService;
 import com.example.forum_website.util.MessageUtil;
 
@@ -51,12 +45,11 @@ public class SettingController {
     @Autowired
     private MessageUtil messageUtil;
 
-    @Value("${app.upload.dir:" + AppConstants.DEFAULT_AVATAR_UPLOAD_DIR + "}")
-    private String uploadDir;
+    @Autowired
+    private AvatarStore avatarStore;
 
     private static final List<String> SUPPORTED_LANGUAGES = List.of(AppConstants.SUPPORTED_LANGUAGES);
     private static final List<String> SUPPORTED_THEMES = List.of(AppConstants.SUPPORTED_THEMES);
-    private static final List<String> ALLOWED_IMAGE_TYPES = List.of(AppConstants.ALLOWED_IMAGE_TYPES);
 
     @GetMapping("/change-language")
     public String changeLanguage(HttpServletRequest request, HttpServletResponse response, @RequestParam String lang) {
@@ -77,13 +70,10 @@ public class SettingController {
     @GetMapping("/change-theme")
     public String changeTheme(HttpServletRequest request, HttpServletResponse response, @RequestParam String theme) {
         if (SUPPORTED_THEMES.contains(theme)) {
-            // Save to session
-            request.getSession().setAttribute("theme", theme);
-            
-            // Save in cookie for persistence after logout
-            Cookie themeCookie = new Cookie("theme", theme);
+            // The cookie is the only place the theme is kept, the app creates no sessions
+            Cookie themeCookie = new Cookie(AppConstants.THEME_COOKIE_NAME, theme);
             themeCookie.setPath("/");
-            themeCookie.setMaxAge(365 * 24 * 60 * 60); // 1 year
+            themeCookie.setMaxAge(AppConstants.THEME_COOKIE_MAX_AGE);
             response.addCookie(themeCookie);
         }
         return "redirect:" + Optional.ofNullable(request.getHeader("Referer")).orElse("/");
@@ -163,6 +153,8 @@ public class SettingController {
             userService.changePassword(changePasswordDto);
             String message = messageUtil.getMessage("profile.changePassword.success", null);
             return new ApiResponse("ok", ToastType.SUCCESS, message);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             String errorMessage = messageUtil.resolveErrorMessage(e);
             return new ApiResponse("error", ToastType.ERROR, errorMessage);
@@ -202,41 +194,26 @@ public class SettingController {
         }
     }
 
-    // Upload avatar endpoint
-    @PostMapping(value = "/api/settings/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    // Upload avatar endpoint; the body is the image itself, streamed to storage as it arrives
+    @PostMapping("/api/settings/avatar")
     @ResponseBody
-    public ApiResponse uploadAvatar(@RequestParam("avatar") MultipartFile file) {
-        log.info("Avatar upload request: size={} bytes, contentType={}", file.getSize(), file.getContentType());
+    public ApiResponse uploadAvatar(HttpServletRequest request) {
+        long declaredSize = request.getContentLengthLong();
+        log.info("Avatar upload request: size={} bytes", declaredSize);
         try {
-            if (file.isEmpty()) {
+            if (declaredSize == 0) {
                 String message = messageUtil.getMessage("avatar.upload.empty", null);
                 return new ApiResponse("error", ToastType.ERROR, message);
             }
 
-            if (!ALLOWED_IMAGE_TYPES.contains(file.getContentType())) {
-                String message = messageUtil.getMessage("avatar.upload.invalidType", null);
-                return new ApiResponse("error", ToastType.ERROR, message);
-            }
-
-            if (file.getSize() > AppConstants.MAX_AVATAR_FILE_SIZE) {
+            // Checked again while streaming, for bodies sent without a length
+            if (declaredSize > AppConstants.MAX_AVATAR_FILE_SIZE) {
                 String message = messageUtil.getMessage("avatar.upload.tooLarge", null);
                 return new ApiResponse("error", ToastType.ERROR, message);
             }
 
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = uploadPath.resolve(filename);
-
-            // Save file
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Stored under its content hash; an image already on disk is reused
+            String filename = avatarStore.store(request.getInputStream());
 
             // Get current user to check old avatar
             String oldAvatar = userService.getCurrentUserAvatar();
@@ -244,22 +221,17 @@ public class SettingController {
             // Update user avatar in database
             userService.updateAvatar(filename);
             
-            // Delete old avatar file if it exists
-            if (oldAvatar != null && !oldAvatar.isEmpty()) {
-                try {
-                    Path oldAvatarPath = Paths.get(uploadDir, oldAvatar);
-                    if (Files.exists(oldAvatarPath)) {
-                        Files.delete(oldAvatarPath);
-                    }
-                } catch (IOException e) {
-                    log.warn("Failed to delete old avatar {}: {}", oldAvatar, e.getMessage());
-                }
+            // Old files are collected later, once no user refers to them
+            if (!filename.equals(oldAvatar)) {
+                avatarStore.release(oldAvatar);
             }
 
             log.info("Avatar uploaded successfully: {}", filename);
             String message = messageUtil.getMessage("avatar.upload.success", null);
             Map<String, Object> data = Map.of("filename", filename);
             return new ApiResponse("ok", ToastType.SUCCESS, message, data);
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (IOException e) {
             log.error("IO error during avatar upload: {}", e.getMessage());
             String message = messageUtil.getMessage("avatar.upload.error", null);
@@ -0,0 +1,32 @@
+package com.example.forum_website.dto;
+
+import com.example.forum_website.constant.AppConstants;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CreateThreadDto {
+    @NotBlank(message = "{thread.title.notBlank}")
+    @Size(max = AppConstants.THREAD_TITLE_MAX_LENGTH, message = "{thread.title.size}")
+    private String title;
+
+    @NotBlank(message = "{thread.content.notBlank}")
+    private String content;
+
+    @NotNull(message = "{thread.topic.invalid}")
+    private Long topicId;
+
+    public CreateThreadDto() {}
+
+    public CreateThreadDto(String title, String content, Long topicId) {
+        this.title = title;
+        this.content = content;
+        this.topicId = topicId;
+    }
+}
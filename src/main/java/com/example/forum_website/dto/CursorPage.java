@@ -0,0 +1,20 @@
+package com.example.forum_website.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+
+@Getter
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String next;
+
+    public CursorPage(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public boolean isHasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.forum_website.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * What the thread list renders: no content body, topic flattened to its name.
+ */
+@Getter
+@Setter
+public class ThreadSummaryDto {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Long topicId;
+    private String topicName;
+    private LocalDateTime createdAt;
+
+    public ThreadSummaryDto() {}
+
+    public ThreadSummaryDto(Long id, String title, String excerpt, Long topicId, LocalDateTime createdAt) {
+        this(id, title, excerpt, topicId, null, createdAt);
+    }
+
+    public ThreadSummaryDto(Long id, String title, String excerpt, Long topicId, String topicName, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.topicId = topicId;
+        this.topicName = topicName;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.forum_website.enums;
+
+import lombok.Getter;
+
+// Every error a service can report, with the message key its localized text is stored under
+@Getter
+public enum ErrorCode {
+    AUTH_INVALID("auth.invalid"),
+    AUTH_FAILED("auth.failed"),
+    AUTH_BUSY("auth.busy"),
+    REGISTER_PASSWORDS_NOT_MATCH("register.passwordsNotMatch"),
+    REGISTER_USERNAME_EXISTS("register.username.exists"),
+    REGISTER_EMAIL_EXISTS("register.email.exists"),
+    FORGOT_PASSWORD_EMAIL_NOT_FOUND("forgotPassword.emailNotFound"),
+    RESET_PASSWORD_PASSWORDS_NOT_MATCH("resetPassword.passwordsNotMatch"),
+    RESET_PASSWORD_INVALID_TOKEN("resetPassword.invalidToken"),
+    USER_NOT_FOUND_BY_ID("user.notFoundById"),
+    USER_NOT_FOUND_BY_USERNAME("user.notFoundByUsername"),
+    THREAD_TITLE_NOT_BLANK("thread.title.notBlank"),
+    THREAD_TITLE_SIZE("thread.title.size"),
+    THREAD_CONTENT_NOT_BLANK("thread.content.notBlank"),
+    THREAD_TOPIC_INVALID("thread.topic.invalid"),
+    THREAD_BATCH_TOO_LARGE("thread.batch.tooLarge"),
+    THREAD_CURSOR_INVALID("thread.cursor.invalid"),
+    SEARCH_QUERY_TOO_LONG("search.query.tooLong"),
+    SEARCH_CURSOR_INVALID("search.cursor.invalid"),
+    AVATAR_UPLOAD_EMPTY("avatar.upload.empty"),
+    AVATAR_UPLOAD_TOO_LARGE("avatar.upload.tooLarge"),
+    AVATAR_UPLOAD_INVALID_TYPE("avatar.upload.invalidType"),
+    AVATAR_BUSY("avatar.busy");
+
+    private final String messageKey;
+
+    ErrorCode(String messageKey) {
+        this.messageKey = messageKey;
+    }
+}
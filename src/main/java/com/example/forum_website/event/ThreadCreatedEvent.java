@@ -0,0 +1,9 @@
+package com.example.forum_website.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once a thread row has been inserted, whatever the write path.
+ */
+public record ThreadCreatedEvent(Long id, String title, String content, Long topicId, LocalDateTime createdAt) {
+}
@@ -0,0 +1,28 @@
+package com.example.forum_website.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.model.Thread;
+
+import jakarta.persistence.PostPersist;
+
+/**
+ * JPA listener on {@link Thread}, resolved by Hibernate through the Spring bean container.
+ * Consumers use {@code @TransactionalEventListener} so they only see committed threads.
+ */
+@Component
+public class ThreadEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ThreadEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void afterInsert(Thread thread) {
+        Long topicId = thread.getTopic() != null ? thread.getTopic().getId() : null;
+        eventPublisher.publishEvent(new ThreadCreatedEvent(
+                thread.getId(), thread.getTitle(), thread.getContent(), topicId, thread.getCreatedAt()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.forum_website.event;
+
+/**
+ * Published whenever a topic row is inserted, updated or deleted.
+ */
+public record TopicChangedEvent(Long topicId) {
+}
@@ -0,0 +1,26 @@
+package com.example.forum_website.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.model.Topic;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+@Component
+public class TopicEntityListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TopicEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Topic topic) {
+        eventPublisher.publishEvent(new TopicChangedEvent(topic.getId()));
+    }
+}
@@ -3,9 +3,11 @@ package com.example.forum_website.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.example.forum_website.enums.ErrorCode;
+
 @ResponseStatus(HttpStatus.UNAUTHORIZED)
-public class AuthException extends RuntimeException {
-    public AuthException(String message) {
-        super(message);
+public class AuthException extends ForumException {
+    public AuthException(ErrorCode code, Object... args) {
+        super(code, args);
     }
 }
@@ -3,10 +3,11 @@ package com.example.forum_website.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.example.forum_website.enums.ErrorCode;
+
 @ResponseStatus(HttpStatus.CONFLICT)
-public class DuplicateResourceException extends RuntimeException {
-    public DuplicateResourceException(String message) {
-        super(message);
+public class DuplicateResourceException extends ForumException {
+    public DuplicateResourceException(ErrorCode code, Object... args) {
+        super(code, args);
     }
 }
-
@@ -0,0 +1,26 @@
+package com.example.forum_website.exception;
+
+import com.example.forum_website.enums.ErrorCode;
+
+import lombok.Getter;
+
+/**
+ * Base of the expected failures a service reports to the user: a bad password, a taken name, an
+ * invalid upload. They are thrown on hot paths, failed logins under attack in particular, and are
+ * always turned into a toast rather than logged with a trace, so no stack trace is captured.
+ * {@link #getMessage()} is the message key, the arguments are kept as they are for
+ * {@link com.example.forum_website.util.MessageUtil#resolveErrorMessage}.
+ */
+@Getter
+public abstract class ForumException extends RuntimeException {
+    private static final Object[] NO_ARGS = {};
+
+    private final ErrorCode code;
+    private final Object[] args;
+
+    protected ForumException(ErrorCode code, Object... args) {
+        super(code.getMessageKey(), null, false, false);
+        this.code = code;
+        this.args = args == null ? NO_ARGS : args;
+    }
+}
@@ -3,10 +3,11 @@ package com.example.forum_website.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.example.forum_website.enums.ErrorCode;
+
 @ResponseStatus(HttpStatus.UNAUTHORIZED)
-public class InvalidTokenException extends RuntimeException {
-    public InvalidTokenException(String message) {
-        super(message);
+public class InvalidTokenException extends ForumException {
+    public InvalidTokenException(ErrorCode code, Object... args) {
+        super(code, args);
     }
 }
-
@@ -0,0 +1,19 @@
+package com.example.forum_website.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.example.forum_website.enums.ErrorCode;
+
+import lombok.Getter;
+
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends ForumException {
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(ErrorCode code, long retryAfterSeconds) {
+        super(code);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
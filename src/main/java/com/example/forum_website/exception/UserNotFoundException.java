@@ -3,10 +3,11 @@ package com.example.forum_website.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.example.forum_website.enums.ErrorCode;
+
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class UserNotFoundException extends RuntimeException {
-    public UserNotFoundException(String message) {
-        super(message);
+public class UserNotFoundException extends ForumException {
+    public UserNotFoundException(ErrorCode code, Object... args) {
+        super(code, args);
     }
 }
-
@@ -3,10 +3,11 @@ package com.example.forum_website.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import com.example.forum_website.enums.ErrorCode;
+
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class ValidationException extends RuntimeException {
-    public ValidationException(String message) {
-        super(message);
+public class ValidationException extends ForumException {
+    public ValidationException(ErrorCode code, Object... args) {
+        super(code, args);
     }
 }
-
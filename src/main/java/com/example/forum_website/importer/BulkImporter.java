@@ -0,0 +1,361 @@
+package com.example.forum_website.importer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.forum_website.cache.TopicCatalog;
+import com.example.forum_website.config.SequenceInitializer;
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.UserRole;
+import com.example.forum_website.util.ExcerptUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads legacy users, topics and threads straight into their tables.
+ * <p>
+ * Records are streamed from the source file and written in batches of {@code app.import.batch-size}
+ * rows. Each batch is one multi-row INSERT in its own transaction, preceded by one IN query per
+ * unique column instead of a SELECT per row. Ids come from the source so threads keep pointing at
+ * their topics; rows whose id already exists are skipped, which also makes re-running a file safe.
+ * Invalid rows are appended to {@code <file>.rejected} and do not stop the import. Passwords
+ * must already be BCrypt hashes; nothing is hashed here.
+ */
+@Slf4j
+@Component
+public class BulkImporter {
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final Pattern USERNAME = Pattern.compile("^[A-Za-z0-9_.-]{3,20}$");
+    private static final DateTimeFormatter SQL_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long PROGRESS_INTERVAL_MS = 5_000;
+
+    private static final List<String> USER_COLUMNS = List.of("id", "username", "email", "password", "fullname",
+            "phone", "role", "email_new_post", "email_reply", "email_mention", "browser_notifications");
+    private static final List<String> TOPIC_COLUMNS = List.of("id", "name");
+    private static final List<String> THREAD_COLUMNS = List.of("id", "title", "content", "excerpt", "topic_id", "created_at");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TopicCatalog topicCatalog;
+    private final SequenceInitializer sequenceInitializer;
+    private final int batchSize;
+
+    public BulkImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            TopicCatalog topicCatalog, SequenceInitializer sequenceInitializer,
+            @Value("${app.import.batch-size:" + AppConstants.DEFAULT_IMPORT_BATCH_SIZE + "}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topicCatalog = topicCatalog;
+        this.sequenceInitializer = sequenceInitializer;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importFile(ImportType type, Path source, ImportFormat format) throws IOException {
+        ImportCheckpoint checkpoint = ImportCheckpoint.load(source, type);
+        long resumeAfter = checkpoint.getRecords();
+        if (resumeAfter > 0) {
+            log.info("Resuming {} import of {} after record {}", type, source, resumeAfter);
+        }
+        if (type == ImportType.THREADS) {
+            topicCatalog.reload();
+        }
+
+        Progress progress = new Progress(checkpoint);
+        Path rejectFile = source.resolveSibling(source.getFileName() + ".rejected");
+        try (RecordReader reader = RecordReader.open(source, format);
+                BufferedWriter rejects = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            long recordNumber = 0;
+            while (true) {
+                Map<String, String> record;
+                try {
+                    record = reader.next();
+                } catch (MalformedRecordException e) {
+                    recordNumber++;
+                    if (recordNumber > resumeAfter) {
+                        progress.reject(rejects, recordNumber, e.getMessage());
+                    }
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                recordNumber++;
+                if (recordNumber <= resumeAfter) {
+                    continue;
+                }
+
+                try {
+                    batch.add(toRow(type, record, recordNumber));
+                } catch (IllegalArgumentException e) {
+                    progress.reject(rejects, recordNumber, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    writeBatch(type, batch, progress, rejects);
+                    rejects.flush();
+                    checkpoint.save(recordNumber, progress.imported, progress.skipped, progress.rejected);
+                    batch.clear();
+                    progress.log(type, recordNumber, false);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(type, batch, progress, rejects);
+            }
+            progress.records = recordNumber;
+        }
+
+        checkpoint.delete();
+        if (progress.rejected == 0) {
+            Files.deleteIfExists(rejectFile);
+        }
+        afterImport(type);
+        progress.log(type, progress.records, true);
+        return progress.report(type);
+    }
+
+    private void afterImport(ImportType type) {
+        // Imported ids can sit anywhere relative to existing ones, so the id sequences are moved past them
+        sequenceInitializer.alignSequences();
+        if (type == ImportType.THREADS) {
+            // This process has its own copy of the index; the server's is what needs the new rows
+            log.info("Imported threads are indexed when the server starts, or now with POST /admin/search/catch-up");
+        }
+    }
+
+    private ImportRow toRow(ImportType type, Map<String, String> record, long recordNumber) {
+        long id = parseId(text(record, "id"));
+        return switch (type) {
+            case USERS -> toUserRow(record, recordNumber, id);
+            case TOPICS -> new ImportRow(recordNumber, id, new Object[] {id, required(record, "name", 255)});
+            case THREADS -> toThreadRow(record, recordNumber, id);
+        };
+    }
+
+    private ImportRow toUserRow(Map<String, String> record, long recordNumber, long id) {
+        String username = required(record, "username", 20);
+        if (!USERNAME.matcher(username).matches()) {
+            throw new IllegalArgumentException("invalid username");
+        }
+        String email = required(record, "email", 255);
+        if (email.indexOf('@') <= 0) {
+            throw new IllegalArgumentException("invalid email");
+        }
+        String password = required(record, "password", 60);
+        if (!BCRYPT_HASH.matcher(password).matches()) {
+            throw new IllegalArgumentException("password is not a BCrypt hash");
+        }
+        String role = text(record, "role");
+        UserRole userRole;
+        try {
+            userRole = role == null ? UserRole.USER : UserRole.valueOf(role.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown role " + role);
+        }
+        return new ImportRow(recordNumber, id, new Object[] {
+                id, username, email, password, text(record, "fullname"), text(record, "phone"), userRole.ordinal(),
+                true, true, true, false});
+    }
+
+    private ImportRow toThreadRow(Map<String, String> record, long recordNumber, long id) {
+        String title = required(record, "title", AppConstants.THREAD_TITLE_MAX_LENGTH);
+        String content = text(record, "content");
+        Long topicId = parseId(required(record, "topic_id", 20));
+        if (!topicCatalog.contains(topicId)) {
+            throw new IllegalArgumentException("unknown topic " + topicId);
+        }
+        String createdAt = text(record, "created_at");
+        LocalDateTime created = createdAt == null ? LocalDateTime.now() : parseDateTime(createdAt);
+        return new ImportRow(recordNumber, id, new Object[] {
+                id, title, content, ExcerptUtil.excerpt(content, AppConstants.THREAD_EXCERPT_LENGTH),
+                topicId, Timestamp.valueOf(created)});
+    }
+
+    private void writeBatch(ImportType type, List<ImportRow> batch, Progress progress, BufferedWriter rejects) throws IOException {
+        String table = switch (type) {
+            case USERS -> "users";
+            case TOPICS -> "topics";
+            case THREADS -> "threads";
+        };
+        List<String> columns = switch (type) {
+            case USERS -> USER_COLUMNS;
+            case TOPICS -> TOPIC_COLUMNS;
+            case THREADS -> THREAD_COLUMNS;
+        };
+
+        // Rows already in the table: an earlier run of this file, or a clash with existing data
+        Set<Long> existingIds = new HashSet<>(queryExisting(table, "id", batch.stream().map(ImportRow::id).toList(), Long.class));
+        Set<Long> batchIds = new HashSet<>();
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        if (type == ImportType.USERS) {
+            takenUsernames = lowerCase(queryExisting(table, "username", batch.stream().map(row -> (String) row.values()[1]).toList(), String.class));
+            takenEmails = lowerCase(queryExisting(table, "email", batch.stream().map(row -> (String) row.values()[2]).toList(), String.class));
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            if (existingIds.contains(row.id())) {
+                progress.skipped++;
+                continue;
+            }
+            if (!batchIds.add(row.id())) {
+                progress.reject(rejects, row.recordNumber(), "duplicate id " + row.id());
+                continue;
+            }
+            if (type == ImportType.USERS) {
+                // The sets start with the values already in the table, so add() also catches duplicates within the batch
+                if (!takenUsernames.add(((String) row.values()[1]).toLowerCase(Locale.ROOT))) {
+                    progress.reject(rejects, row.recordNumber(), "username already exists");
+                    continue;
+                }
+                if (!takenEmails.add(((String) row.values()[2]).toLowerCase(Locale.ROOT))) {
+                    progress.reject(rejects, row.recordNumber(), "email already exists");
+                    continue;
+                }
+            }
+            accepted.add(row);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                + String.join(", ", Collections.nCopies(accepted.size(), placeholders));
+        Object[] arguments = new Object[accepted.size() * columns.size()];
+        for (int i = 0; i < accepted.size(); i++) {
+            System.arraycopy(accepted.get(i).values(), 0, arguments, i * columns.size(), columns.size());
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, arguments));
+        progress.imported += accepted.size();
+    }
+
+    private <T> List<T> queryExisting(String table, String column, List<?> values, Class<T> type) {
+        return namedJdbcTemplate.queryForList("SELECT " + column + " FROM " + table + " WHERE " + column + " IN (:values)",
+                new MapSqlParameterSource("values", values), type);
+    }
+
+    private static Set<String> lowerCase(List<String> values) {
+        Set<String> result = new HashSet<>();
+        values.forEach(value -> result.add(value.toLowerCase(Locale.ROOT)));
+        return result;
+    }
+
+    private static String text(Map<String, String> record, String field) {
+        String value = record.get(field);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(Map<String, String> record, String field, int maxLength) {
+        String value = text(record, field);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " longer than " + maxLength);
+        }
+        return value;
+    }
+
+    private static long parseId(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("missing id");
+        }
+        try {
+            long id = Long.parseLong(value);
+            if (id <= 0) {
+                throw new IllegalArgumentException("invalid id " + value);
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid id " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return value.indexOf('T') > 0 ? LocalDateTime.parse(value) : LocalDateTime.parse(value, SQL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid created_at " + value);
+        }
+    }
+
+    private record ImportRow(long recordNumber, long id, Object[] values) {
+    }
+
+    private static final class Progress {
+        private final long startedAt = System.currentTimeMillis();
+        private final long recordsBefore;
+        private final long importedBefore;
+        private final long skippedBefore;
+        private final long rejectedBefore;
+        private long lastLoggedAt = startedAt;
+        private long records;
+        private long imported;
+        private long skipped;
+        private long rejected;
+
+        // Counters continue from the checkpoint so the saved totals cover every run of the file
+        Progress(ImportCheckpoint checkpoint) {
+            this.records = this.recordsBefore = checkpoint.getRecords();
+            this.imported = this.importedBefore = checkpoint.getImported();
+            this.skipped = this.skippedBefore = checkpoint.getSkipped();
+            this.rejected = this.rejectedBefore = checkpoint.getRejected();
+        }
+
+        void reject(BufferedWriter rejects, long recordNumber, String reason) throws IOException {
+            rejected++;
+            rejects.write("record " + recordNumber + ": " + reason);
+            rejects.newLine();
+        }
+
+        void log(ImportType type, long recordNumber, boolean done) {
+            long now = System.currentTimeMillis();
+            if (!done && now - lastLoggedAt < PROGRESS_INTERVAL_MS) {
+                return;
+            }
+            lastLoggedAt = now;
+            long elapsed = Math.max(1, now - startedAt);
+            log.info("{} import {}: {} records read, {} imported, {} skipped, {} rejected, {} rows/s",
+                    type, done ? "finished" : "in progress", recordNumber, imported, skipped, rejected,
+                    (imported - importedBefore) * 1000 / elapsed);
+        }
+
+        ImportReport report(ImportType type) {
+            return new ImportReport(type, records - recordsBefore, imported - importedBefore,
+                    skipped - skippedBefore, rejected - rejectedBefore,
+                    System.currentTimeMillis() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.forum_website.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row: quoted fields may contain commas, doubled quotes and line breaks.
+ */
+final class CsvRecordReader implements RecordReader {
+    private static final char BYTE_ORDER_MARK = '﻿';
+
+    private final BufferedReader reader;
+    private final List<String> header = new ArrayList<>();
+
+    CsvRecordReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> names = readRow();
+        if (names != null) {
+            for (String name : names) {
+                header.add(name.replace(String.valueOf(BYTE_ORDER_MARK), "").trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < header.size() && i < row.size(); i++) {
+            record.put(header.get(i), row.get(i));
+        }
+        return record;
+    }
+
+    private List<String> readRow() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.forum_website.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progress of an import, stored next to the source file as {@code <file>.checkpoint}. It is
+ * rewritten after every committed batch, so a restarted import skips exactly the records whose
+ * batch already reached the database.
+ */
+final class ImportCheckpoint {
+    private final Path file;
+    private final ImportType type;
+    private long records;
+    private long imported;
+    private long skipped;
+    private long rejected;
+
+    private ImportCheckpoint(Path file, ImportType type) {
+        this.file = file;
+        this.type = type;
+    }
+
+    static ImportCheckpoint load(Path source, ImportType type) throws IOException {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(source.resolveSibling(source.getFileName() + ".checkpoint"), type);
+        if (Files.exists(checkpoint.file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(checkpoint.file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            if (!type.name().equals(properties.getProperty("type"))) {
+                throw new IOException("Checkpoint " + checkpoint.file + " belongs to a " + properties.getProperty("type") + " import");
+            }
+            checkpoint.records = Long.parseLong(properties.getProperty("records", "0"));
+            checkpoint.imported = Long.parseLong(properties.getProperty("imported", "0"));
+            checkpoint.skipped = Long.parseLong(properties.getProperty("skipped", "0"));
+            checkpoint.rejected = Long.parseLong(properties.getProperty("rejected", "0"));
+        }
+        return checkpoint;
+    }
+
+    void save(long records, long imported, long skipped, long rejected) throws IOException {
+        this.records = records;
+        this.imported = imported;
+        this.skipped = skipped;
+        this.rejected = rejected;
+
+        Properties properties = new Properties();
+        properties.setProperty("type", type.name());
+        properties.setProperty("records", String.valueOf(records));
+        properties.setProperty("imported", String.valueOf(imported));
+        properties.setProperty("skipped", String.valueOf(skipped));
+        properties.setProperty("rejected", String.valueOf(rejected));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    long getRecords() {
+        return records;
+    }
+
+    long getImported() {
+        return imported;
+    }
+
+    long getSkipped() {
+        return skipped;
+    }
+
+    long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.forum_website.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    JSONL;
+
+    public static ImportFormat from(String value, Path source) {
+        if (value != null && !value.isBlank()) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+        String name = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSONL : CSV;
+    }
+}
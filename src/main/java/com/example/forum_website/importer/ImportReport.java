@@ -0,0 +1,11 @@
+package com.example.forum_website.importer;
+
+/**
+ * What one run of an import did; a resumed run does not count records handled before its checkpoint.
+ */
+public record ImportReport(ImportType type, long records, long imported, long skipped, long rejected, long elapsedMillis) {
+
+    public long rowsPerSecond() {
+        return elapsedMillis > 0 ? imported * 1000 / elapsedMillis : imported;
+    }
+}
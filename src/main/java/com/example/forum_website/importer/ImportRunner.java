@@ -0,0 +1,72 @@
+package com.example.forum_website.importer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs one import from the command line and exits instead of serving requests:
+ * <pre>
+ * java -jar forum-website.jar --spring.main.web-application-type=none \
+ *     --import.type=users --import.file=legacy/users.csv [--import.format=csv|jsonl]
+ * </pre>
+ * Import topics before the threads that reference them. Re-running the same command after a
+ * failure resumes from {@code <file>.checkpoint}. The server may keep running: call
+ * {@code POST /admin/topics/reload} after importing topics and {@code POST /admin/search/catch-up}
+ * after importing threads, otherwise both are picked up on its next start. Imported users reach
+ * the server's account name filter on its next periodic rebuild.
+ */
+@Slf4j
+@Component
+public class ImportRunner implements ApplicationRunner {
+    private final BulkImporter bulkImporter;
+    private final ConfigurableApplicationContext context;
+
+    public ImportRunner(BulkImporter bulkImporter, ConfigurableApplicationContext context) {
+        this.bulkImporter = bulkImporter;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String file = option(args, "import.file");
+        if (file == null) {
+            return;
+        }
+        int exitCode = 0;
+        try {
+            Path source = Paths.get(file);
+            if (!Files.isRegularFile(source)) {
+                throw new IllegalArgumentException("Import file not found: " + source);
+            }
+            String type = option(args, "import.type");
+            if (type == null) {
+                throw new IllegalArgumentException("--import.type is required (users, topics or threads)");
+            }
+            ImportReport report = bulkImporter.importFile(ImportType.from(type), source,
+                    ImportFormat.from(option(args, "import.format"), source));
+            log.info("Imported {} {} of {} records in {} ms ({} rows/s), {} skipped, {} rejected",
+                    report.imported(), report.type(), report.records(), report.elapsedMillis(),
+                    report.rowsPerSecond(), report.skipped(), report.rejected());
+        } catch (Exception e) {
+            log.error("Import failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
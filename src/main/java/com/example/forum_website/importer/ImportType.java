@@ -0,0 +1,13 @@
+package com.example.forum_website.importer;
+
+import java.util.Locale;
+
+public enum ImportType {
+    USERS,
+    TOPICS,
+    THREADS;
+
+    public static ImportType from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.forum_website.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One JSON object per line. Blank lines are skipped; nested values are kept as their JSON text.
+ * A line that does not parse only fails that record.
+ */
+final class JsonLinesRecordReader implements RecordReader {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+
+    JsonLinesRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRecordException(e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new MalformedRecordException("Expected a JSON object per line");
+        }
+        Map<String, String> record = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (!value.isNull()) {
+                record.put(field.getKey().toLowerCase(Locale.ROOT), value.isValueNode() ? value.asText() : value.toString());
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
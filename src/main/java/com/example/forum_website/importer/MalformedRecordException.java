@@ -0,0 +1,12 @@
+package com.example.forum_website.importer;
+
+import java.io.IOException;
+
+/**
+ * A single record could not be parsed; the reader is still positioned at the next one.
+ */
+class MalformedRecordException extends IOException {
+    MalformedRecordException(String message) {
+        super(message);
+    }
+}
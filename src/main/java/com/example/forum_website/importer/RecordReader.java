@@ -0,0 +1,31 @@
+package com.example.forum_website.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Pulls one record at a time from an import file, so memory use does not grow with the file.
+ * Field names are lower-cased; values are returned as written.
+ */
+interface RecordReader extends Closeable {
+
+    /**
+     * Returns the next record, or null at the end of the file.
+     */
+    Map<String, String> next() throws IOException;
+
+    static RecordReader open(Path source, ImportFormat format) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+        try {
+            return format == ImportFormat.JSONL ? new JsonLinesRecordReader(reader) : new CsvRecordReader(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.forum_website.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Standard output, written once per batch. */
+public class ConsoleLogSink extends LogSink {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final OutputStream out = new BufferedOutputStream(System.out, BUFFER_BYTES);
+
+    @Override
+    void write(byte[] formatted) throws IOException {
+        out.write(formatted);
+    }
+
+    @Override
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    void close() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.forum_website.logging;
+
+import java.io.IOException;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.spi.LifeCycle;
+
+/**
+ * Destination of {@link RingBufferAppender}. Receives every event already formatted and takes
+ * the ones its {@code level} (exactly that level) or {@code threshold} (that level and above)
+ * lets through; with neither set it takes everything. Writes are buffered until {@link #flush},
+ * which the appender calls once per batch.
+ */
+public abstract class LogSink extends ContextAwareBase implements LifeCycle {
+    private Level level;
+    private Level threshold;
+    private boolean started;
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level);
+    }
+
+    public void setThreshold(String threshold) {
+        this.threshold = Level.toLevel(threshold);
+    }
+
+    boolean accepts(Level eventLevel) {
+        if (level != null) {
+            return eventLevel.equals(level);
+        }
+        return threshold == null || eventLevel.isGreaterOrEqual(threshold);
+    }
+
+    abstract void write(byte[] formatted) throws IOException;
+
+    abstract void flush() throws IOException;
+
+    abstract void close() throws IOException;
+
+    @Override
+    public void start() {
+        started = true;
+    }
+
+    @Override
+    public void stop() {
+        started = false;
+        try {
+            close();
+        } catch (IOException e) {
+            addError("Could not close " + getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.forum_website.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publishes the state of the {@link RingBufferAppender} on the root logger: events waiting in
+ * {@code forum.logging.queue} and events dropped under overload in {@code forum.logging.dropped}.
+ */
+@Component
+public class LoggingMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Spring Boot configures logging again while starting, so bind to the appender that ended up in use
+    @EventListener(ApplicationReadyEvent.class)
+    public void bind() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof RingBufferAppender appender) {
+                Gauge.builder("forum.logging.queue", appender, RingBufferAppender::getQueueSize)
+                        .tag("appender", appender.getName())
+                        .register(meterRegistry);
+                for (Level level : new Level[] {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR}) {
+                    FunctionCounter.builder("forum.logging.dropped", appender, a -> a.getDroppedCount(level))
+                            .tag("appender", appender.getName())
+                            .tag("level", level.toString())
+                            .register(meterRegistry);
+                }
+            }
+        }
+    }
+}
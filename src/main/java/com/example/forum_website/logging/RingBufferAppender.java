@@ -0,0 +1,237 @@
+package com.example.forum_website.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Logging without blocking the caller. {@link #append} only snapshots the event and puts it in a
+ * fixed-size {@link LogRing}; one writer thread takes events off in batches, formats each one
+ * once with the {@code encoder}, hands the bytes to every {@link LogSink} whose level matches and
+ * flushes each sink once per batch.
+ * <p>
+ * The ring never makes a request wait. Past {@code overloadPercent} full, DEBUG and TRACE are
+ * dropped and only one INFO event in {@code infoSampleRate} is kept; WARN and ERROR are dropped
+ * only when the ring is completely full. Dropped events are counted per level, and the writer
+ * logs a summary of them at most once every {@code dropReportIntervalMs}.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+
+    private int capacity = 8192;
+    private int batchSize = 512;
+    private long flushIntervalMs = 100;
+    private int overloadPercent = 75;
+    private int infoSampleRate = 10;
+    private long dropReportIntervalMs = 10_000;
+    private Encoder<ILoggingEvent> encoder;
+    private final List<LogSink> sinks = new ArrayList<>();
+
+    private LogRing<ILoggingEvent> ring;
+    private int overloadSize;
+    private final AtomicLong sampled = new AtomicLong();
+    private final LongAdder[] dropped = new LongAdder[LEVELS.length];
+    private final long[] reported = new long[LEVELS.length];
+    private long lastDropReport;
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public RingBufferAppender() {
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public void setOverloadPercent(int overloadPercent) {
+        this.overloadPercent = overloadPercent;
+    }
+
+    public void setInfoSampleRate(int infoSampleRate) {
+        this.infoSampleRate = infoSampleRate;
+    }
+
+    public void setDropReportIntervalMs(long dropReportIntervalMs) {
+        this.dropReportIntervalMs = dropReportIntervalMs;
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void addSink(LogSink sink) {
+        sinks.add(sink);
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "]");
+            return;
+        }
+        if (sinks.isEmpty()) {
+            addError("No sink set for the appender named [" + name + "]");
+            return;
+        }
+        sinks.stream().filter(sink -> !sink.isStarted()).forEach(LogSink::start);
+        ring = new LogRing<>(capacity);
+        overloadSize = ring.capacity() * overloadPercent / 100;
+        running = true;
+        writer = new Thread(this::drain, "log-writer-" + name);
+        writer.setDaemon(true);
+        writer.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sinks.forEach(LogSink::stop);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Level level = event.getLevel();
+        if (!level.isGreaterOrEqual(Level.WARN) && ring.size() >= overloadSize
+                && (level != Level.INFO || sampled.getAndIncrement() % infoSampleRate != 0)) {
+            drop(level);
+            return;
+        }
+        // Fix the message, thread name and MDC now; the event is formatted later on the writer
+        event.prepareForDeferredProcessing();
+        if (!ring.offer(event)) {
+            drop(level);
+            return;
+        }
+        if (level.isGreaterOrEqual(Level.WARN)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public long getDroppedCount(Level level) {
+        return dropped[indexOf(level)].sum();
+    }
+
+    public int getQueueSize() {
+        return ring == null ? 0 : ring.size();
+    }
+
+    private void drop(Level level) {
+        dropped[indexOf(level)].increment();
+    }
+
+    private void drain() {
+        long parkNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (true) {
+            // Read before draining, so events appended before stop() are still written
+            boolean stopping = !running;
+            int written = 0;
+            ILoggingEvent event;
+            while (written < batchSize && (event = ring.poll()) != null) {
+                write(event);
+                written++;
+            }
+            if (reportDrops(stopping)) {
+                written++;
+            }
+            if (written > 0) {
+                sinks.forEach(this::flush);
+            } else if (stopping) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+    }
+
+    private void write(ILoggingEvent event) {
+        byte[] formatted;
+        try {
+            formatted = encoder.encode(event);
+        } catch (RuntimeException e) {
+            addError("Could not format a log event", e);
+            return;
+        }
+        for (LogSink sink : sinks) {
+            if (sink.accepts(event.getLevel())) {
+                try {
+                    sink.write(formatted);
+                } catch (Exception e) {
+                    addError("Could not write to " + sink.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+
+    private void flush(LogSink sink) {
+        try {
+            sink.flush();
+        } catch (Exception e) {
+            addError("Could not flush " + sink.getClass().getSimpleName(), e);
+        }
+    }
+
+    private boolean reportDrops(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now - lastDropReport < dropReportIntervalMs) {
+            return false;
+        }
+        lastDropReport = now;
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < LEVELS.length; i++) {
+            long total = dropped[i].sum();
+            if (total > reported[i]) {
+                summary.append(summary.isEmpty() ? "" : ", ").append(total - reported[i]).append(' ').append(LEVELS[i]);
+                reported[i] = total;
+            }
+        }
+        if (summary.isEmpty()) {
+            return false;
+        }
+        LoggerContext loggerContext = (LoggerContext) getContext();
+        write(new LoggingEvent(RingBufferAppender.class.getName(), loggerContext.getLogger(RingBufferAppender.class),
+                Level.WARN, "Logging is behind, dropped " + summary + " events", null, null));
+        return true;
+    }
+
+    private static int indexOf(Level level) {
+        return switch (level.toInt()) {
+            case Level.TRACE_INT -> 0;
+            case Level.DEBUG_INT -> 1;
+            case Level.INFO_INT -> 2;
+            case Level.WARN_INT -> 3;
+            default -> 4;
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.forum_website.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import ch.qos.logback.core.util.FileSize;
+
+/**
+ * Daily log file named {@code yyyyMMdd<suffix>.log} in {@code directory}. A day that outgrows
+ * {@code maxFileSize} continues in {@code yyyyMMdd<suffix>.1.log}, {@code .2.log} and so on.
+ * When a new file is opened, files of this sink older than {@code maxHistory} days are deleted,
+ * then the oldest ones until the rest fit in {@code totalSizeCap}.
+ */
+public class RollingLogFile extends LogSink {
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private Path directory = Path.of("logs");
+    private String suffix = "";
+    private long maxFileSize = FileSize.valueOf("10MB").getSize();
+    private int maxHistory = 30;
+    private long totalSizeCap = FileSize.valueOf("5GB").getSize();
+    private Pattern ownFiles;
+
+    private OutputStream out;
+    private LocalDate day;
+    private int index;
+    private long size;
+
+    public void setDirectory(String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    public void setSuffix(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public void setMaxFileSize(FileSize maxFileSize) {
+        this.maxFileSize = maxFileSize.getSize();
+    }
+
+    public void setMaxHistory(int maxHistory) {
+        this.maxHistory = maxHistory;
+    }
+
+    public void setTotalSizeCap(FileSize totalSizeCap) {
+        this.totalSizeCap = totalSizeCap.getSize();
+    }
+
+    @Override
+    public void start() {
+        ownFiles = Pattern.compile("(\\d{8})" + Pattern.quote(suffix) + "(?:\\.(\\d+))?\\.log");
+        super.start();
+    }
+
+    @Override
+    void write(byte[] formatted) throws IOException {
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        if (out == null || !today.equals(day)) {
+            open(today, 0);
+        } else if (size + formatted.length > maxFileSize && size > 0) {
+            open(today, index + 1);
+        }
+        out.write(formatted);
+        size += formatted.length;
+    }
+
+    @Override
+    void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void open(LocalDate today, int startIndex) throws IOException {
+        close();
+        Files.createDirectories(directory);
+        if (!today.equals(day)) {
+            removeExpired(today);
+        }
+        // After a restart, carry on after the last file of the day that is already full
+        int next = startIndex;
+        Path file = file(today, next);
+        while (Files.exists(file) && Files.size(file) >= maxFileSize) {
+            file = file(today, ++next);
+        }
+        day = today;
+        index = next;
+        size = Files.exists(file) ? Files.size(file) : 0;
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                BUFFER_BYTES);
+    }
+
+    private Path file(LocalDate date, int part) {
+        return directory.resolve(date.format(DAY) + suffix + (part == 0 ? "" : "." + part) + ".log");
+    }
+
+    private void removeExpired(LocalDate today) throws IOException {
+        String oldestKept = today.minusDays(maxHistory).format(DAY);
+        List<Path> kept;
+        try (Stream<Path> files = Files.list(directory)) {
+            kept = files.filter(path -> ownFiles.matcher(path.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(RollingLogFile::dayOf).thenComparing(RollingLogFile::partOf))
+                    .toList();
+        }
+        long total = 0;
+        for (Path path : kept) {
+            total += Files.size(path);
+        }
+        for (Path path : kept) {
+            if (dayOf(path).compareTo(oldestKept) >= 0 && total <= totalSizeCap) {
+                break;
+            }
+            total -= Files.size(path);
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static String dayOf(Path path) {
+        return path.getFileName().toString().substring(0, 8);
+    }
+
+    private static int partOf(Path path) {
+        Matcher matcher = Pattern.compile("\\.(\\d+)\\.log$").matcher(path.getFileName().toString());
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
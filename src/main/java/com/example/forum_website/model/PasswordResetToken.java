@@ -0,0 +1,47 @@
+package com.example.forum_website.model;
+
+import java.time.LocalDateTime;
+
+import com.example.forum_website.constant.AppConstants;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Only the SHA-256 of the token is stored; the token itself is known only to the user
+@Data
+@Entity
+@Table(name = "password_reset_tokens", indexes = {
+    @Index(name = "uk_password_reset_tokens_hash", columnList = "token_hash", unique = true),
+    @Index(name = "idx_password_reset_tokens_user_id", columnList = "user_id"),
+    @Index(name = "idx_password_reset_tokens_expires_at", columnList = "expires_at")
+})
+public class PasswordResetToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_reset_tokens_seq")
+    @SequenceGenerator(name = "password_reset_tokens_seq", sequenceName = "password_reset_tokens_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public PasswordResetToken() {}
+
+    public PasswordResetToken(String tokenHash, Long userId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -2,22 +2,37 @@ package com.example.forum_website.model;
 
 import java.time.LocalDateTime;
 
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.event.ThreadEntityListener;
+import com.example.forum_website.util.ExcerptUtil;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "threads")
+@EntityListeners(ThreadEntityListener.class)
+@Table(name = "threads", indexes = {
+    @Index(name = "idx_threads_created_at_id", columnList = "created_at, id")
+})
 public class Thread {
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts; see SequenceInitializer
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "threads_seq")
+    @SequenceGenerator(name = "threads_seq", sequenceName = "threads_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -26,10 +41,20 @@ public class Thread {
     @Column(columnDefinition = "TEXT")
     private String content;
 
-    @ManyToOne
+    // Precomputed at write time so list queries never read the TEXT column
+    @Column(length = AppConstants.THREAD_EXCERPT_LENGTH + 1)
+    private String excerpt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id", nullable = false)
     private Topic topic;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void fillExcerpt() {
+        excerpt = ExcerptUtil.excerpt(content, AppConstants.THREAD_EXCERPT_LENGTH);
+    }
+}
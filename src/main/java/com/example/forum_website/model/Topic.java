@@ -1,19 +1,30 @@
 package com.example.forum_website.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.event.TopicEntityListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Data
 @Entity
+@EntityListeners(TopicEntityListener.class)
 @Table(name = "topics")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CACHE_REGION_TOPIC)
 public class Topic {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_seq")
+    @SequenceGenerator(name = "topics_seq", sequenceName = "topics_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
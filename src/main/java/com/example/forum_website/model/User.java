@@ -1,27 +1,45 @@
 package com.example.forum_website.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.example.forum_website.constant.AppConstants;
 import com.example.forum_website.enums.UserRole;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_avatar", columnList = "avatar")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = AppConstants.USERS_USERNAME_UNIQUE_KEY, columnNames = "username"),
+    @UniqueConstraint(name = AppConstants.USERS_EMAIL_UNIQUE_KEY, columnNames = "email")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CACHE_REGION_USER)
+@NaturalIdCache(region = AppConstants.CACHE_REGION_USER_NATURAL_ID)
 @Data
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     private long id;
     private String fullname;
+    // Never changes once registered, so it can be resolved to the id from the natural-id cache
+    @NaturalId
     private String username;
     private String email;
     private String password;
     private UserRole role;
-    private String resetToken;
     private String avatar;
     private String phone;
     private boolean emailNewPost = true;
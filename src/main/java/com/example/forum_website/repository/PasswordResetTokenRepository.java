@@ -0,0 +1,39 @@
+package com.example.forum_website.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.forum_website.model.PasswordResetToken;
+
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+    // Unique index lookup on uk_password_reset_tokens_hash
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    // Claims a token: only the caller that deletes the row may use it
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id = :id")
+    int deleteOne(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.userId = :userId")
+    int deleteByUser(@Param("userId") Long userId);
+
+    // Walks idx_password_reset_tokens_expires_at, one bounded chunk at a time
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiresAt <= :now ORDER BY t.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -1,10 +1,47 @@
 package com.example.forum_website.repository;
 
-import org.springframework.data.domain.Page;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.forum_website.dto.ThreadSummaryDto;
 import com.example.forum_website.model.Thread;
+import com.example.forum_website.search.IndexedThread;
 
 public interface ThreadRepository extends JpaRepository<Thread, Long> {
-    Page<Thread> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    // topic.id is read from the FK column, names come from TopicCatalog so topics is never joined
+    String SUMMARY_SELECT = "SELECT new com.example.forum_website.dto.ThreadSummaryDto("
+            + "t.id, t.title, t.excerpt, t.topic.id, t.createdAt) FROM Thread t ";
+
+    // Slice rather than Page: the caller only needs hasNext, not a COUNT(*) per request
+    @Query(SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<ThreadSummaryDto> findSummaries(Pageable pageable);
+
+    // Keyset feed over idx_threads_created_at_id, List return type so no count query is issued
+    @Query(SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ThreadSummaryDto> findFeedFirst(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) "
+            + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<ThreadSummaryDto> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<ThreadSummaryDto> findSummariesByIds(@Param("ids") List<Long> ids);
+
+    // Search index catch-up walks the primary key for ids missing from the index, then reads only those rows
+    @Query("SELECT t.id FROM Thread t WHERE t.id > :after ORDER BY t.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT new com.example.forum_website.search.IndexedThread(t.id, t.title, t.content) FROM Thread t "
+            + "WHERE t.id IN :ids ORDER BY t.id")
+    List<IndexedThread> findForIndexing(@Param("ids") List<Long> ids);
+
+    // Rows written before the excerpt column existed, walked by primary key so the backfill resumes past each chunk
+    @Query("SELECT t FROM Thread t WHERE t.id > :after AND t.excerpt IS NULL AND t.content IS NOT NULL ORDER BY t.id")
+    List<Thread> findWithoutExcerpt(@Param("after") Long after, Pageable pageable);
 }
@@ -0,0 +1,8 @@
+package com.example.forum_website.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.forum_website.model.Topic;
+
+public interface TopicRepository extends JpaRepository<Topic, Long> {
+}
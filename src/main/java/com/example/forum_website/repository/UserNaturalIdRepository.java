@@ -0,0 +1,9 @@
+package com.example.forum_website.repository;
+
+import java.util.Optional;
+
+import com.example.forum_website.model.User;
+
+public interface UserNaturalIdRepository {
+    Optional<User> findByUsername(String username);
+}
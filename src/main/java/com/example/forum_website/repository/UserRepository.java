@@ -1,16 +1,35 @@
 package com.example.forum_website.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.example.forum_website.constant.AppConstants;
 import com.example.forum_website.model.User;
 
+import jakarta.persistence.QueryHint;
+
+/**
+ * findById and findByUsername (see {@link UserNaturalIdRepository}) are answered from the
+ * second-level cache; findByEmail from a query cache region that any write to users invalidates.
+ */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     Optional<User> findById(Long id);
-    Optional<User> findByUsername(String username);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CACHE_REGION_USER_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
-    Optional<User> findByResetToken(String resetToken);
+
+    long countByAvatar(String avatar);
+
+    @Query("SELECT DISTINCT u.avatar FROM User u WHERE u.avatar IS NOT NULL")
+    List<String> findDistinctAvatars();
 }
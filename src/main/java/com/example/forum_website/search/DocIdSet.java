@@ -0,0 +1,39 @@
+package com.example.forum_website.search;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Thread ids held by the index, in memory or on disk. Sequence ids are dense, so a bitmap costs
+ * about one bit per thread; ids beyond int range fall back to a hash set.
+ * Not thread-safe; {@link ThreadSearchIndex} guards it with its lock.
+ */
+final class DocIdSet {
+    private final BitSet dense = new BitSet();
+    private final Set<Long> sparse = new HashSet<>();
+
+    /** Returns false if the id was already present. */
+    boolean add(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            return sparse.add(id);
+        }
+        if (dense.get((int) id)) {
+            return false;
+        }
+        dense.set((int) id);
+        return true;
+    }
+
+    boolean contains(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            return sparse.contains(id);
+        }
+        return dense.get((int) id);
+    }
+
+    void clear() {
+        dense.clear();
+        sparse.clear();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.forum_website.search;
+
+/**
+ * The columns the search index reads when it catches up with the threads table.
+ */
+public record IndexedThread(Long id, String title, String content) {
+}
@@ -0,0 +1,12 @@
+package com.example.forum_website.search;
+
+/**
+ * A matching thread and its BM25 score. Hits are ordered by score, then by id, both descending.
+ */
+public record SearchHit(long threadId, double score) {
+
+    boolean ranksBefore(SearchHit other) {
+        int byScore = Double.compare(score, other.score);
+        return byScore != 0 ? byScore > 0 : threadId > other.threadId;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.forum_website.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits thread text into index terms for vi, en and ja.
+ * <ul>
+ * <li>Text is NFKC-normalised and lower-cased, so full-width and half-width forms match.</li>
+ * <li>Latin-script words have their diacritics folded ({@code "thuế"} and {@code "thue"} are the same term).</li>
+ * <li>Han, Hiragana and Katakana runs have no word boundaries and are cut into overlapping bigrams.
+ * The index also keeps single characters so a one-character query still matches.</li>
+ * </ul>
+ */
+public final class SearchTokenizer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int PROLONGED_SOUND_MARK = 0x30FC;
+
+    private SearchTokenizer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean withCjkUnigrams) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+
+        int i = 0;
+        while (i < normalized.length()) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                emitWord(word, terms);
+                cjkRun.add(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint) || Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                emitCjkRun(cjkRun, terms, withCjkUnigrams);
+                word.appendCodePoint(codePoint);
+            } else {
+                emitWord(word, terms);
+                emitCjkRun(cjkRun, terms, withCjkUnigrams);
+            }
+        }
+        emitWord(word, terms);
+        emitCjkRun(cjkRun, terms, withCjkUnigrams);
+        return terms;
+    }
+
+    private static void emitWord(StringBuilder word, List<String> terms) {
+        if (word.length() == 0) {
+            return;
+        }
+        String folded = fold(word.toString());
+        if (!folded.isEmpty() && folded.length() <= MAX_TERM_LENGTH) {
+            terms.add(folded);
+        }
+        word.setLength(0);
+    }
+
+    private static void emitCjkRun(List<Integer> run, List<String> terms, boolean withUnigrams) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1 || withUnigrams) {
+            for (int codePoint : run) {
+                terms.add(new String(Character.toChars(codePoint)));
+            }
+        }
+        for (int j = 0; j + 1 < run.size(); j++) {
+            terms.add(new StringBuilder(4).appendCodePoint(run.get(j)).appendCodePoint(run.get(j + 1)).toString());
+        }
+        run.clear();
+    }
+
+    // Vietnamese đ is a separate letter rather than d plus a mark, so NFD alone does not fold it
+    private static String fold(String word) {
+        String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+    }
+
+    private static boolean isCjk(int codePoint) {
+        if (codePoint == PROLONGED_SOUND_MARK) {
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.forum_website.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Immutable slice of the inverted index. Documents are addressed by ordinal within the segment;
+ * each term maps to interleaved {@code [ordinal, frequency, ordinal, frequency, ...]} postings.
+ * A merged segment also records the numbers of the segment files it replaces, so the sources it
+ * was written from are recognised and skipped if they are still on disk after a crash.
+ */
+final class Segment implements SegmentView {
+    private static final int MAGIC = 0x46545331; // "FTS1"
+    private static final int VERSION = 2;
+    // Version 1 files carry no list of replaced segments
+    private static final int VERSION_WITHOUT_REPLACES = 1;
+    private static final int[] NONE = new int[0];
+
+    private final long[] docIds;
+    private final int[] docLengths;
+    private final long totalLength;
+    private final Map<String, int[]> postings;
+    private final int[] replaces;
+
+    Segment(long[] docIds, int[] docLengths, Map<String, int[]> postings) {
+        this(docIds, docLengths, postings, NONE);
+    }
+
+    private Segment(long[] docIds, int[] docLengths, Map<String, int[]> postings, int[] replaces) {
+        this.docIds = docIds;
+        this.docLengths = docLengths;
+        this.postings = postings;
+        this.replaces = replaces;
+        long total = 0;
+        for (int length : docLengths) {
+            total += length;
+        }
+        this.totalLength = total;
+    }
+
+    @Override
+    public int docCount() {
+        return docIds.length;
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public int docFreq(String term) {
+        int[] list = postings.get(term);
+        return list == null ? 0 : list.length / 2;
+    }
+
+    @Override
+    public void forEachPosting(String term, PostingVisitor visitor) {
+        int[] list = postings.get(term);
+        if (list == null) {
+            return;
+        }
+        for (int i = 0; i < list.length; i += 2) {
+            int ordinal = list[i];
+            visitor.visit(docIds[ordinal], docLengths[ordinal], list[i + 1]);
+        }
+    }
+
+    void forEachDocId(LongConsumer consumer) {
+        for (long id : docIds) {
+            consumer.accept(id);
+        }
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    // Numbers of the segment files this one was merged from
+    int[] replaces() {
+        return replaces;
+    }
+
+    /**
+     * Concatenates segments into one, shifting each segment's ordinals past the previous ones.
+     *
+     * @param replaces numbers of the sources' segment files, for sources that have one
+     */
+    static Segment merge(List<Segment> segments, int[] replaces) {
+        int docCount = 0;
+        for (Segment segment : segments) {
+            docCount += segment.docCount();
+        }
+        long[] docIds = new long[docCount];
+        int[] docLengths = new int[docCount];
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Segment segment : segments) {
+            segment.postings.forEach((term, list) -> sizes.merge(term, list.length, Integer::sum));
+        }
+        Map<String, int[]> merged = new HashMap<>(sizes.size() * 4 / 3 + 1);
+        Map<String, Integer> filled = new HashMap<>(sizes.size() * 4 / 3 + 1);
+        sizes.forEach((term, size) -> merged.put(term, new int[size]));
+
+        int offset = 0;
+        for (Segment segment : segments) {
+            System.arraycopy(segment.docIds, 0, docIds, offset, segment.docCount());
+            System.arraycopy(segment.docLengths, 0, docLengths, offset, segment.docCount());
+            for (Map.Entry<String, int[]> entry : segment.postings.entrySet()) {
+                int[] source = entry.getValue();
+                int[] target = merged.get(entry.getKey());
+                int start = filled.getOrDefault(entry.getKey(), 0);
+                for (int i = 0; i < source.length; i += 2) {
+                    target[start + i] = source[i] + offset;
+                    target[start + i + 1] = source[i + 1];
+                }
+                filled.put(entry.getKey(), start + source.length);
+            }
+            offset += segment.docCount();
+        }
+        return new Segment(docIds, docLengths, merged, replaces);
+    }
+
+    /**
+     * Writes the segment to a temporary file, forces it to disk and moves it into place, so a crash
+     * never leaves a half-written segment under the final name. A CRC32 trailer guards against
+     * corruption.
+     */
+    void writeTo(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            CRC32 crc = new CRC32();
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(out, crc)));
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(replaces.length);
+            for (int number : replaces) {
+                data.writeInt(number);
+            }
+            data.writeInt(docIds.length);
+            for (int i = 0; i < docIds.length; i++) {
+                data.writeLong(docIds[i]);
+                data.writeInt(docLengths[i]);
+            }
+            data.writeInt(postings.size());
+            for (Map.Entry<String, int[]> entry : postings.entrySet()) {
+                int[] list = entry.getValue();
+                data.writeUTF(entry.getKey());
+                data.writeInt(list.length);
+                for (int value : list) {
+                    data.writeInt(value);
+                }
+            }
+            data.flush();
+            new DataOutputStream(out).writeLong(crc.getValue());
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Segment readFrom(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            CRC32 crc = new CRC32();
+            DataInputStream data = new DataInputStream(new CheckedInputStream(in, crc));
+            int version = data.readInt() == MAGIC ? data.readInt() : -1;
+            if (version != VERSION && version != VERSION_WITHOUT_REPLACES) {
+                throw new IOException("Not a search segment: " + file);
+            }
+            int[] replaces = NONE;
+            if (version == VERSION) {
+                replaces = new int[data.readInt()];
+                for (int i = 0; i < replaces.length; i++) {
+                    replaces[i] = data.readInt();
+                }
+            }
+            int docCount = data.readInt();
+            long[] docIds = new long[docCount];
+            int[] docLengths = new int[docCount];
+            for (int i = 0; i < docCount; i++) {
+                docIds[i] = data.readLong();
+                docLengths[i] = data.readInt();
+            }
+            int termCount = data.readInt();
+            Map<String, int[]> postings = new HashMap<>(termCount * 4 / 3 + 1);
+            for (int t = 0; t < termCount; t++) {
+                String term = data.readUTF();
+                int[] list = new int[data.readInt()];
+                for (int i = 0; i < list.length; i++) {
+                    list[i] = data.readInt();
+                }
+                postings.put(term, list);
+            }
+            long expected = crc.getValue();
+            if (new DataInputStream(in).readLong() != expected) {
+                throw new IOException("Checksum mismatch in search segment: " + file);
+            }
+            return new Segment(docIds, docLengths, postings, replaces);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.forum_website.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable segment that receives newly created threads until it is flushed.
+ * Not thread-safe; {@link ThreadSearchIndex} guards it with its lock.
+ */
+final class SegmentBuilder implements SegmentView {
+    private long[] docIds = new long[64];
+    private int[] docLengths = new int[64];
+    private int docCount;
+    private long totalLength;
+    private final Map<String, IntList> postings = new HashMap<>();
+
+    void add(long docId, List<String> terms) {
+        if (docCount == docIds.length) {
+            docIds = Arrays.copyOf(docIds, docCount * 2);
+            docLengths = Arrays.copyOf(docLengths, docCount * 2);
+        }
+        int ordinal = docCount++;
+        docIds[ordinal] = docId;
+        docLengths[ordinal] = terms.size();
+        totalLength += terms.size();
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) -> {
+            IntList list = postings.computeIfAbsent(term, key -> new IntList());
+            list.add(ordinal);
+            list.add(frequency);
+        });
+    }
+
+    boolean isEmpty() {
+        return docCount == 0;
+    }
+
+    @Override
+    public int docCount() {
+        return docCount;
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public int docFreq(String term) {
+        IntList list = postings.get(term);
+        return list == null ? 0 : list.size / 2;
+    }
+
+    @Override
+    public void forEachPosting(String term, PostingVisitor visitor) {
+        IntList list = postings.get(term);
+        if (list == null) {
+            return;
+        }
+        for (int i = 0; i < list.size; i += 2) {
+            int ordinal = list.values[i];
+            visitor.visit(docIds[ordinal], docLengths[ordinal], list.values[i + 1]);
+        }
+    }
+
+    Segment build() {
+        Map<String, int[]> frozen = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((term, list) -> frozen.put(term, Arrays.copyOf(list.values, list.size)));
+        return new Segment(Arrays.copyOf(docIds, docCount), Arrays.copyOf(docLengths, docCount), frozen);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
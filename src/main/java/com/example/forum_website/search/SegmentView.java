@@ -0,0 +1,19 @@
+package com.example.forum_website.search;
+
+/**
+ * Read side shared by flushed {@link Segment}s and the in-memory {@link SegmentBuilder}.
+ */
+interface SegmentView {
+    int docCount();
+
+    long totalLength();
+
+    int docFreq(String term);
+
+    void forEachPosting(String term, PostingVisitor visitor);
+
+    @FunctionalInterface
+    interface PostingVisitor {
+        void visit(long docId, int docLength, int termFrequency);
+    }
+}
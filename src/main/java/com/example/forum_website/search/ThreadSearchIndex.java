@@ -0,0 +1,521 @@
+package com.example.forum_website.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.event.ThreadCreatedEvent;
+import com.example.forum_website.repository.ThreadRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted index over thread titles and content, ranked with BM25.
+ * <p>
+ * New threads go into an in-memory {@link SegmentBuilder} and become searchable as soon as their
+ * transaction commits. The builder is flushed to an immutable segment file once it holds enough
+ * documents or on a timer, and segments are merged when there are too many of them. At startup
+ * the segment files are loaded and every thread whose id is not in them is read from the database,
+ * so threads that were only in memory, or whose segment write failed, are indexed again; a corrupt
+ * or unreadable segment discards the files and rebuilds from scratch. A merged segment names the
+ * files it replaces, and any of them still on disk at startup is deleted instead of loaded.
+ * <p>
+ * Pooled sequence ids mean threads do not commit in id order, so nothing is inferred from the
+ * highest id seen: the index keeps the exact set of ids it holds and skips duplicates instead.
+ */
+@Slf4j
+@Component
+public class ThreadSearchIndex {
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.seg");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Title terms are indexed this many times so a match in the title outranks one in the body
+    private static final int TITLE_WEIGHT = 2;
+
+    private final ThreadRepository threadRepository;
+    private final Executor indexExecutor;
+    private final Path indexDir;
+    private final int flushDocs;
+    private final int maxSegments;
+    private final Timer queryTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicInteger segmentNumber = new AtomicInteger();
+    // Guarded by lock
+    private List<StoredSegment> segments = List.of();
+    private SegmentBuilder live = new SegmentBuilder();
+    // Guarded by lock; every id in segments and live, so a thread seen by both its event and the catch-up is added once
+    private final DocIdSet docIds = new DocIdSet();
+    // Nothing is written before the existing segment files have been read and numbered
+    private volatile boolean opened;
+
+    public ThreadSearchIndex(ThreadRepository threadRepository,
+            @Qualifier("searchIndexExecutor") Executor indexExecutor, MeterRegistry meterRegistry,
+            @Value("${app.search.index-dir:" + AppConstants.DEFAULT_SEARCH_INDEX_DIR + "}") String indexDir,
+            @Value("${app.search.flush-docs:" + AppConstants.DEFAULT_SEARCH_FLUSH_DOCS + "}") int flushDocs,
+            @Value("${app.search.max-segments:" + AppConstants.DEFAULT_SEARCH_MAX_SEGMENTS + "}") int maxSegments) {
+        this.threadRepository = threadRepository;
+        this.indexExecutor = indexExecutor;
+        this.indexDir = Paths.get(indexDir);
+        this.flushDocs = flushDocs;
+        this.maxSegments = maxSegments;
+        this.queryTimer = Timer.builder("forum.search.query")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("forum.search.documents", this, ThreadSearchIndex::size)
+                .register(meterRegistry);
+        Gauge.builder("forum.search.segments", this, ThreadSearchIndex::segmentCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns up to {@code limit} hits ranked after {@code after}, or from the top when it is null.
+     */
+    public List<SearchHit> search(String query, SearchHit after, int limit) {
+        return queryTimer.record(() -> rank(query, after, limit));
+    }
+
+    private List<SearchHit> rank(String query, SearchHit after, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenizeForQuery(query)));
+        if (terms.size() > AppConstants.SEARCH_MAX_QUERY_TERMS) {
+            terms = terms.subList(0, AppConstants.SEARCH_MAX_QUERY_TERMS);
+        }
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<SegmentView> views = new ArrayList<>(segments.size() + 1);
+            segments.forEach(stored -> views.add(stored.segment()));
+            views.add(live);
+
+            long docCount = 0;
+            long totalLength = 0;
+            for (SegmentView view : views) {
+                docCount += view.docCount();
+                totalLength += view.totalLength();
+            }
+            if (docCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / docCount;
+
+            for (String term : terms) {
+                long docFreq = 0;
+                for (SegmentView view : views) {
+                    docFreq += view.docFreq(term);
+                }
+                if (docFreq == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+                for (SegmentView view : views) {
+                    view.forEachPosting(term, (docId, docLength, frequency) -> {
+                        double norm = K1 * (1 - B + B * docLength / averageLength);
+                        double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                        scores.merge(docId, score, Double::sum);
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Bounded heap keeps the worst of the current top hits at its head
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, (a, b) -> a.ranksBefore(b) ? 1 : -1);
+        scores.forEach((docId, score) -> {
+            SearchHit hit = new SearchHit(docId, score);
+            if (after != null && !after.ranksBefore(hit)) {
+                return;
+            }
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (hit.ranksBefore(top.peek())) {
+                top.poll();
+                top.add(hit);
+            }
+        });
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> a.ranksBefore(b) ? -1 : 1);
+        return hits;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThreadCreated(ThreadCreatedEvent event) {
+        if (event.id() == null) {
+            return;
+        }
+        if (add(event.id(), event.title(), event.content()) >= flushDocs) {
+            flushAsync();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        try {
+            indexExecutor.execute(this::loadAndCatchUp);
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not schedule search index load: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.flush-interval-ms:" + AppConstants.DEFAULT_SEARCH_FLUSH_INTERVAL_MS + "}")
+    public void flush() {
+        if (!opened) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                if (!live.isEmpty()) {
+                    segments = append(segments, new StoredSegment(live.build(), null));
+                    live = new SegmentBuilder();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            writeUnwritten();
+
+            if (segmentCount() > maxSegments) {
+                merge();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Indexes threads written behind the index's back, such as by the bulk importer running in its
+     * own process, without waiting for a restart. Before the startup load has finished there is
+     * nothing to do: the startup catch-up reads them anyway.
+     */
+    public void requestCatchUp() {
+        if (!opened) {
+            return;
+        }
+        try {
+            indexExecutor.execute(this::catchUp);
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not schedule search index catch-up: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            int count = live.docCount();
+            for (StoredSegment stored : segments) {
+                count += stored.segment().docCount();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int add(long threadId, String title, String content) {
+        List<String> terms = new ArrayList<>();
+        List<String> titleTerms = SearchTokenizer.tokenizeForIndex(title);
+        for (int i = 0; i < TITLE_WEIGHT; i++) {
+            terms.addAll(titleTerms);
+        }
+        terms.addAll(SearchTokenizer.tokenizeForIndex(content));
+
+        lock.writeLock().lock();
+        try {
+            if (docIds.add(threadId)) {
+                live.add(threadId, terms);
+            }
+            return live.docCount();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean contains(long threadId) {
+        lock.readLock().lock();
+        try {
+            return docIds.contains(threadId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes every segment that is only in memory: the one just flushed and any whose earlier write
+     * failed. One that still fails stays searchable and is retried on the next flush; if the process
+     * stops first, its ids are missing from the files and the startup catch-up reads them again.
+     */
+    private void writeUnwritten() {
+        List<StoredSegment> unwritten;
+        lock.readLock().lock();
+        try {
+            unwritten = segments.stream().filter(stored -> stored.file() == null).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (StoredSegment stored : unwritten) {
+            Path file = nextSegmentFile();
+            try {
+                Files.createDirectories(indexDir);
+                stored.segment().writeTo(file);
+                replace(List.of(stored.segment()), new StoredSegment(stored.segment(), file));
+            } catch (IOException e) {
+                log.warn("Failed to write search segment {}: {}", file, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void flushAsync() {
+        try {
+            indexExecutor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            log.debug("Search index flush already queued");
+        }
+    }
+
+    void loadAndCatchUp() {
+        load();
+        catchUp();
+    }
+
+    /**
+     * Walks every thread id and indexes the ones the index does not hold. Only ids are read for
+     * threads already indexed. A catch-up that fails partway leaves the rest missing from the
+     * files, so the next start picks them up; events keep indexing new threads meanwhile.
+     */
+    private void catchUp() {
+        long after = 0;
+        try {
+            int indexed = 0;
+            List<Long> ids;
+            do {
+                ids = threadRepository.findIdsAfter(after,
+                        PageRequest.of(0, AppConstants.SEARCH_CATCH_UP_ID_BATCH_SIZE));
+                List<Long> missing = ids.stream().filter(id -> !contains(id)).toList();
+                for (int from = 0; from < missing.size(); from += AppConstants.SEARCH_CATCH_UP_BATCH_SIZE) {
+                    List<Long> chunk = missing.subList(from,
+                            Math.min(from + AppConstants.SEARCH_CATCH_UP_BATCH_SIZE, missing.size()));
+                    for (IndexedThread thread : threadRepository.findForIndexing(chunk)) {
+                        if (add(thread.id(), thread.title(), thread.content()) >= flushDocs) {
+                            flush();
+                        }
+                        indexed++;
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    after = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == AppConstants.SEARCH_CATCH_UP_ID_BATCH_SIZE);
+            flush();
+            if (indexed > 0) {
+                log.info("Search index caught up with {} threads", indexed);
+            }
+        } catch (Exception e) {
+            log.warn("Search index catch-up failed after thread {}, the rest is indexed on the next start: {}",
+                    after, e.getMessage());
+        }
+    }
+
+    private void load() {
+        List<Path> files;
+        try (Stream<Path> listing = Files.exists(indexDir) ? Files.list(indexDir) : Stream.empty()) {
+            files = listing.filter(path -> SEGMENT_FILE.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list search index directory {}: {}", indexDir, e.getMessage());
+            opened = true;
+            return;
+        }
+
+        List<StoredSegment> read = new ArrayList<>(files.size());
+        Set<Integer> replaced = new HashSet<>();
+        for (Path file : files) {
+            try {
+                Segment segment = Segment.readFrom(file);
+                read.add(new StoredSegment(segment, file));
+                Arrays.stream(segment.replaces()).forEach(replaced::add);
+                segmentNumber.accumulateAndGet(segmentNumberOf(file), Math::max);
+            } catch (IOException e) {
+                log.warn("Discarding search index, segment {} is unreadable: {}", file, e.getMessage());
+                files.forEach(this::deleteQuietly);
+                opened = true;
+                return;
+            }
+        }
+        // Sources of a merge whose files outlived it, through a crash or a failed delete; their
+        // documents are already in the merged segment
+        List<StoredSegment> loaded = new ArrayList<>(read.size());
+        for (StoredSegment stored : read) {
+            if (replaced.contains(segmentNumberOf(stored.file()))) {
+                log.info("Deleting search segment {}, it was merged into another", stored.file().getFileName());
+                deleteQuietly(stored.file());
+            } else {
+                loaded.add(stored);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<StoredSegment> combined = new ArrayList<>(loaded);
+            combined.addAll(segments);
+            segments = List.copyOf(combined);
+            loaded.forEach(stored -> stored.segment().forEachDocId(docIds::add));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        opened = true;
+        log.info("Search index loaded {} segments with {} threads", loaded.size(), size());
+    }
+
+    private void merge() {
+        List<StoredSegment> sources;
+        lock.readLock().lock();
+        try {
+            sources = segments;
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Segment> parts = sources.stream().map(StoredSegment::segment).toList();
+        Segment merged = Segment.merge(parts, replacedBy(sources));
+        Path file = nextSegmentFile();
+        try {
+            merged.writeTo(file);
+        } catch (IOException e) {
+            log.warn("Failed to write merged search segment {}: {}", file, e.getMessage());
+            return;
+        }
+        replace(parts, new StoredSegment(merged, file));
+        sources.stream().map(StoredSegment::file).filter(path -> path != null).forEach(this::deleteQuietly);
+        log.info("Merged {} search segments into {}", sources.size(), file.getFileName());
+    }
+
+    /**
+     * Numbers of the files a merge of these segments replaces: the sources' own, plus the files
+     * their earlier merges replaced that are still on disk, so a leftover is not orphaned when
+     * the segment that knew about it is merged away.
+     */
+    private int[] replacedBy(List<StoredSegment> sources) {
+        Set<Integer> numbers = new TreeSet<>();
+        for (StoredSegment stored : sources) {
+            if (stored.file() == null) {
+                continue;
+            }
+            numbers.add(segmentNumberOf(stored.file()));
+            for (int number : stored.segment().replaces()) {
+                if (Files.exists(segmentFile(number))) {
+                    numbers.add(number);
+                }
+            }
+        }
+        return numbers.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Swaps the given segments for one replacement, keeping its position among the others
+    private void replace(List<Segment> replaced, StoredSegment replacement) {
+        lock.writeLock().lock();
+        try {
+            List<StoredSegment> updated = new ArrayList<>(segments.size());
+            boolean inserted = false;
+            for (StoredSegment stored : segments) {
+                if (replaced.contains(stored.segment())) {
+                    if (!inserted) {
+                        updated.add(replacement);
+                        inserted = true;
+                    }
+                } else {
+                    updated.add(stored);
+                }
+            }
+            segments = List.copyOf(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Path nextSegmentFile() {
+        return segmentFile(segmentNumber.incrementAndGet());
+    }
+
+    private Path segmentFile(int number) {
+        return indexDir.resolve(String.format("segment-%06d.seg", number));
+    }
+
+    private static int segmentNumberOf(Path file) {
+        Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private static List<StoredSegment> append(List<StoredSegment> segments, StoredSegment segment) {
+        List<StoredSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        return Collections.unmodifiableList(updated);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete search segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    // file is null while a flushed segment has not been written to disk yet
+    private record StoredSegment(Segment segment, Path file) {
+    }
+}
@@ -2,7 +2,6 @@ package com.example.forum_website.security;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -16,14 +15,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.example.forum_website.repository.UserRepository;
+import com.example.forum_website.cache.UserSnapshotCache;
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.constant.JwtConstants;
+import com.example.forum_website.web.VisitorContext;
 
 import io.jsonwebtoken.Claims;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
-    private UserRepository userRepository;
+    private UserSnapshotCache userSnapshotCache;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -31,18 +33,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws IOException, ServletException {
-        String token = getTokenFromCookies(request.getCookies());
+        VisitorContext visitor = VisitorContext.of(request);
+        String token = visitor.authToken();
         if (token != null) {
             Claims claims = jwtUtil.validateToken(token);
             if (claims != null) {
-                Long id = claims.get("id", Long.class);
-                userRepository.findById(id).ifPresent(user -> {
+                Long id = claims.get(JwtConstants.CLAIM_USER_ID, Long.class);
+                userSnapshotCache.get(id).ifPresent(user -> {
+                    // Resolved once here, CurrentUserControllerAdvice reads it back from the visitor context
+                    request.setAttribute(AppConstants.VISITOR_ATTRIBUTE, visitor.withUser(user));
                     CustomUserDetails userDetails = new CustomUserDetails(
                             user.getUsername(),
-                            user.getPassword(),
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
+                            "",
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole())),
                             user.getId(),
-                            user.getRole().name()
+                            user.getRole()
                     );
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
@@ -52,15 +57,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-
-    private String getTokenFromCookies(Cookie[] cookies) {
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if ("tokenAuth".equals(cookie.getName())) {
-                    return cookie.getValue();
-                }
-            }
-        }
-        return null;
-    }
-}
\ No newline at end of file
+}
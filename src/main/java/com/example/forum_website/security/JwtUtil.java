@@ -3,11 +3,21 @@ package com.example.forum_website.security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.annotation.PostConstruct;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.example.forum_website.cache.ExpiringCache;
+import com.example.forum_website.constant.JwtConstants;
+
 @Component
 public class JwtUtil {
     @Value("${jwt.secret}")
@@ -16,19 +26,63 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long EXPIRATION;
 
+    @Value("${jwt.cache.max-size:" + JwtConstants.DEFAULT_TOKEN_CACHE_MAX_SIZE + "}")
+    private int cacheMaxSize;
+
+    @Value("${jwt.cache.negative-ttl-seconds:" + JwtConstants.DEFAULT_NEGATIVE_CACHE_TTL_SECONDS + "}")
+    private long negativeTtlSeconds;
+
+    private byte[] signingKey;
+    private ExpiringCache<String, Claims> verifiedTokens;
+    private ExpiringCache<String, Boolean> rejectedTokens;
+
+    @PostConstruct
+    public void init() {
+        // Same decoding jjwt applies to a String key, done once instead of on every parse
+        signingKey = TextCodec.BASE64.decode(SECRET);
+        verifiedTokens = new ExpiringCache<>(cacheMaxSize);
+        rejectedTokens = new ExpiringCache<>(cacheMaxSize);
+    }
+
     public String generateToken(Long userId) {
         return Jwts.builder()
-                .claim("id", userId)
+                .claim(JwtConstants.CLAIM_USER_ID, userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
+    /**
+     * Returns the token's claims, or null when it is malformed, forged or expired.
+     * Verified tokens are cached until their {@code exp}; rejected ones for a short while so
+     * that replaying a bad cookie does not cost a full parse each time.
+     * The returned claims are shared and must not be modified.
+     */
     public Claims validateToken(String token) {
+        if (!isWellFormed(token)) {
+            return null;
+        }
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        Claims cached = verifiedTokens.get(key, now);
+        if (cached != null) {
+            return cached;
+        }
+        if (rejectedTokens.get(key, now) != null) {
+            return null;
+        }
+
         try {
-            return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+            Claims claims = Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            if (expiration != null) {
+                verifiedTokens.put(key, claims, expiration.getTime());
+            }
+            return claims;
         } catch (Exception e) {
+            rejectedTokens.put(key, Boolean.TRUE, now + negativeTtlSeconds * 1000);
             return null;
         }
     }
@@ -36,4 +90,23 @@ public class JwtUtil {
     public long getExpiration() {
         return EXPIRATION;
     }
+
+    // A compact JWS is three base64url segments; anything else cannot verify
+    private boolean isWellFormed(String token) {
+        if (token == null || token.isEmpty() || token.length() > JwtConstants.MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        return first > 0 && last > first + 1 && last < token.length() - 1 && token.indexOf('.', first + 1) == last;
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.forum_website.security;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs every password hash and comparison on the bounded {@code passwordHashExecutor}.
+ * When its queue is full, or a hash is not done within the timeout, the caller gets a
+ * {@link ServiceUnavailableException} right away rather than waiting behind the backlog.
+ */
+@Component
+public class PasswordHasher {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer queueTimer;
+    private final Counter rejections;
+
+    private volatile String dummyHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry,
+            @Value("${app.password-hash.timeout-ms:" + AppConstants.DEFAULT_PASSWORD_HASH_TIMEOUT_MS + "}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+
+        this.encodeTimer = Timer.builder("forum.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("forum.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueTimer = Timer.builder("forum.password.hash.queued")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("forum.password.hash.rejected")
+                .register(meterRegistry);
+        Gauge.builder("forum.password.hash.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchTimer);
+    }
+
+    /**
+     * Spends the time of a real comparison for a username that does not exist, so response
+     * times do not reveal which usernames are registered.
+     */
+    public void matchesUnknownUser(CharSequence rawPassword) {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = encode("unknown-user");
+            dummyHash = hash;
+        }
+        matches(rawPassword, hash);
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (TaskRejectedException e) {
+            rejections.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException(ErrorCode.AUTH_BUSY, AppConstants.PASSWORD_HASH_RETRY_AFTER_SECONDS);
+    }
+}
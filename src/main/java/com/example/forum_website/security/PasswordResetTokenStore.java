@@ -0,0 +1,135 @@
+package com.example.forum_website.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.model.PasswordResetToken;
+import com.example.forum_website.repository.PasswordResetTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Password reset tokens, kept out of the {@code users} table. A token is 32 random bytes handed
+ * to the user once; only its SHA-256 is stored, under a unique index, so a lookup is a single
+ * index probe and a copy of the table does not contain usable tokens.
+ * <p>
+ * A token expires after {@code ttl} and can be used once: {@link #consume} deletes the row and
+ * only the caller whose delete removed it gets the user id back. Issuing a token replaces the
+ * user's earlier ones in the same transaction, so a failed insert leaves them in place. Expired
+ * rows that were never used are deleted by a periodic sweep in bounded chunks, so one run never
+ * holds a long lock on the table.
+ */
+@Slf4j
+@Component
+public class PasswordResetTokenStore {
+    private final PasswordResetTokenRepository tokenRepository;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+    private final int sweepMaxBatches;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Counter swept;
+
+    @Autowired
+    public PasswordResetTokenStore(PasswordResetTokenRepository tokenRepository, MeterRegistry meterRegistry,
+            @Value("${app.password-reset.token-ttl-minutes:" + AppConstants.DEFAULT_RESET_TOKEN_TTL_MINUTES + "}") long ttlMinutes,
+            @Value("${app.password-reset.sweep-batch-size:" + AppConstants.DEFAULT_RESET_TOKEN_SWEEP_BATCH_SIZE + "}") int sweepBatchSize,
+            @Value("${app.password-reset.sweep-max-batches:" + AppConstants.DEFAULT_RESET_TOKEN_SWEEP_MAX_BATCHES + "}") int sweepMaxBatches) {
+        this(tokenRepository, meterRegistry, Duration.ofMinutes(ttlMinutes), sweepBatchSize, sweepMaxBatches,
+                Clock.systemDefaultZone());
+    }
+
+    PasswordResetTokenStore(PasswordResetTokenRepository tokenRepository, MeterRegistry meterRegistry, Duration ttl,
+            int sweepBatchSize, int sweepMaxBatches, Clock clock) {
+        this.tokenRepository = tokenRepository;
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+        this.sweepMaxBatches = sweepMaxBatches;
+        this.clock = clock;
+
+        this.swept = Counter.builder("forum.password-reset.tokens.swept")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a token for the user, invalidating any earlier one.
+     *
+     * @return the token to send to the user; it is not stored and cannot be recovered
+     */
+    @Transactional
+    public String issue(long userId) {
+        byte[] bytes = new byte[AppConstants.RESET_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tokenRepository.deleteByUser(userId);
+        tokenRepository.save(new PasswordResetToken(hash(token), userId, LocalDateTime.now(clock).plus(ttl)));
+        return token;
+    }
+
+    /**
+     * Uses up a token.
+     *
+     * @return the id of the user the token was issued to, or empty if it is unknown, expired or
+     *         already used
+     */
+    public Optional<Long> consume(String token) {
+        Optional<PasswordResetToken> stored = tokenRepository.findByTokenHash(hash(token));
+        if (stored.isEmpty() || tokenRepository.deleteOne(stored.get().getId()) == 0) {
+            return Optional.empty();
+        }
+        // Deleted either way: an expired token is of no further use
+        return stored.get().getExpiresAt().isAfter(LocalDateTime.now(clock))
+                ? Optional.of(stored.get().getUserId())
+                : Optional.empty();
+    }
+
+    @Scheduled(initialDelayString = "${app.password-reset.sweep-interval-ms:" + AppConstants.DEFAULT_RESET_TOKEN_SWEEP_INTERVAL_MS + "}",
+            fixedDelayString = "${app.password-reset.sweep-interval-ms:" + AppConstants.DEFAULT_RESET_TOKEN_SWEEP_INTERVAL_MS + "}")
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int deleted = 0;
+        // Capped per run; whatever is left over goes in the next run
+        for (int batch = 0; batch < sweepMaxBatches; batch++) {
+            List<Long> ids = tokenRepository.findExpiredIds(now, PageRequest.of(0, sweepBatchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleted += tokenRepository.deleteByIds(ids);
+            if (ids.size() < sweepBatchSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            swept.increment(deleted);
+            log.info("Swept {} expired password reset tokens", deleted);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.forum_website.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.dto.ApiResponse;
+import com.example.forum_website.enums.ToastType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles the credential endpoints per client IP and per submitted username or email before
+ * anything expensive runs; a rejected login never reaches the database or BCrypt. The body is
+ * read once to find the account field and replayed to the controller; a body too large to read
+ * is refused outright, so padding cannot push the account field past the check. The registration
+ * availability check is limited per IP so it cannot be used to enumerate accounts quickly.
+ * <p>
+ * The client IP is {@code getRemoteAddr()}. Behind a reverse proxy that is only the client's once
+ * Tomcat applies X-Forwarded-For from trusted proxies ({@code server.forward-headers-strategy}).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    // Credential payloads are well under 1 KB
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final RateLimiter rateLimiter;
+    private final Map<String, EndpointLimits> limits;
+    private final boolean enabled;
+    private final MessageSource messageSource;
+    private final LocaleResolver localeResolver;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(MessageSource messageSource, LocaleResolver localeResolver, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-keys:" + AppConstants.DEFAULT_RATE_LIMIT_MAX_KEYS + "}") int maxKeys,
+            @Value("${app.rate-limit.login.ip-per-minute:" + AppConstants.DEFAULT_LOGIN_IP_PER_MINUTE + "}") int loginPerIp,
+            @Value("${app.rate-limit.login.username-per-minute:" + AppConstants.DEFAULT_LOGIN_USERNAME_PER_MINUTE + "}") int loginPerUsername,
+            @Value("${app.rate-limit.register.ip-per-minute:" + AppConstants.DEFAULT_REGISTER_IP_PER_MINUTE + "}") int registerPerIp,
+            @Value("${app.rate-limit.register-available.ip-per-minute:" + AppConstants.DEFAULT_REGISTER_AVAILABLE_IP_PER_MINUTE + "}") int availablePerIp,
+            @Value("${app.rate-limit.forgot-password.ip-per-minute:" + AppConstants.DEFAULT_FORGOT_PASSWORD_IP_PER_MINUTE + "}") int forgotPerIp,
+            @Value("${app.rate-limit.forgot-password.email-per-minute:" + AppConstants.DEFAULT_FORGOT_PASSWORD_EMAIL_PER_MINUTE + "}") int forgotPerEmail) {
+        this.messageSource = messageSource;
+        this.localeResolver = localeResolver;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rateLimiter = new RateLimiter(maxKeys);
+        this.limits = Map.of(
+                "/login", new EndpointLimits("POST", "login", Limit.perMinute(loginPerIp), "username", Limit.perMinute(loginPerUsername)),
+                "/register", new EndpointLimits("POST", "register", Limit.perMinute(registerPerIp), null, null),
+                "/api/register/available", new EndpointLimits("GET", "register-available", Limit.perMinute(availablePerIp), null, null),
+                "/forgot-password", new EndpointLimits("POST", "forgot-password", Limit.perMinute(forgotPerIp), "email", Limit.perMinute(forgotPerEmail)));
+
+        FunctionCounter.builder("forum.ratelimit.evictions", rateLimiter, RateLimiter::getEvictionCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        EndpointLimits endpoint = limits.get(request.getServletPath());
+        return !enabled || endpoint == null || !endpoint.method().equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointLimits endpoint = limits.get(request.getServletPath());
+        long wait = rateLimiter.acquire(endpoint.name() + "|ip|" + request.getRemoteAddr(),
+                endpoint.perIp().intervalMillis(), endpoint.perIp().burst());
+        if (wait > 0) {
+            reject(request, response, endpoint.name(), "ip", wait);
+            return;
+        }
+
+        if (endpoint.field() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+            tooLarge(request, response, endpoint.name());
+            return;
+        }
+        BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+        if (!buffered.complete()) {
+            tooLarge(request, response, endpoint.name());
+            return;
+        }
+        String account = buffered.field(objectMapper, endpoint.field());
+        if (account != null) {
+            wait = rateLimiter.acquire(endpoint.name() + "|" + endpoint.field() + "|" + account.trim().toLowerCase(Locale.ROOT),
+                    endpoint.perField().intervalMillis(), endpoint.perField().burst());
+            if (wait > 0) {
+                reject(request, response, endpoint.name(), endpoint.field(), wait);
+                return;
+            }
+        }
+        filterChain.doFilter(buffered, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String endpoint, String key,
+            long waitMillis) throws IOException {
+        meterRegistry.counter("forum.ratelimit.rejected", "endpoint", endpoint, "key", key).increment();
+        long retryAfter = Math.max(1, (waitMillis + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, "rateLimit.exceeded", retryAfter);
+    }
+
+    private void tooLarge(HttpServletRequest request, HttpServletResponse response, String endpoint) throws IOException {
+        meterRegistry.counter("forum.ratelimit.rejected", "endpoint", endpoint, "key", "body-size").increment();
+        writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "rateLimit.bodyTooLarge");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            String messageKey, Object... args) throws IOException {
+        Locale locale = localeResolver.resolveLocale(request);
+        String message = messageSource.getMessage(messageKey, args, locale);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse("error", ToastType.WARNING, message));
+    }
+
+    private record Limit(long intervalMillis, int burst) {
+        static Limit perMinute(int permits) {
+            return new Limit(60_000L / permits, permits);
+        }
+    }
+
+    private record EndpointLimits(String method, String name, Limit perIp, String field, Limit perField) {
+    }
+
+    /**
+     * Reads the body, up to {@link #MAX_BODY_BYTES}, up front and serves it again from memory to
+     * the rest of the chain. A body that does not fit is never passed on.
+     */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+        private ServletInputStream stream;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        boolean complete() {
+            return body.length <= MAX_BODY_BYTES;
+        }
+
+        // Malformed bodies are left for the controller to reject
+        String field(ObjectMapper objectMapper, String name) {
+            if (body.length == 0) {
+                return null;
+            }
+            try {
+                JsonNode value = objectMapper.readTree(body).get(name);
+                return value != null && value.isTextual() && !value.asText().isBlank() ? value.asText() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = replay(new ByteArrayInputStream(body));
+            }
+            return stream;
+        }
+
+        private static ServletInputStream replay(ByteArrayInputStream body) {
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return body.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return body.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Everything is already in memory, so the data is available right away
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.forum_website.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, fixed-size rate limiter using GCRA, the single-timestamp form of a token bucket.
+ * <p>
+ * Each key owns one slot of an {@link AtomicLongArray} holding a 20-bit key fingerprint and the
+ * key's theoretical arrival time (TAT) in milliseconds. A slot whose TAT has passed carries no
+ * state and is free for reuse, so keys evict themselves once idle. A key hashes to a run of
+ * {@value #PROBES} slots; when all of them are busy, the one closest to expiring is taken over.
+ * Memory is fixed at construction whatever the number of distinct keys.
+ */
+public class RateLimiter {
+    private static final int PROBES = 4;
+    private static final int TAT_BITS = 44;
+    private static final long TAT_MASK = (1L << TAT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final LongSupplier clock;
+    private final long origin;
+    private final LongAdder evictions = new LongAdder();
+
+    public RateLimiter(int capacity) {
+        this(capacity, System::currentTimeMillis);
+    }
+
+    RateLimiter(int capacity, LongSupplier clock) {
+        int size = Integer.highestOneBit(Math.max(PROBES, capacity - 1)) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.clock = clock;
+        // TATs are stored relative to this, which keeps them within 44 bits
+        this.origin = clock.getAsLong() - 1;
+    }
+
+    /**
+     * Takes one permit for the key, allowing {@code burst} back-to-back requests and then one
+     * every {@code intervalMillis}.
+     *
+     * @return 0 if allowed, otherwise the milliseconds until the next permit
+     */
+    public long acquire(String key, long intervalMillis, int burst) {
+        long hash = hash(key);
+        int start = (int) hash & mask;
+        long fingerprint = (hash >>> TAT_BITS) | 1;
+        long tolerance = intervalMillis * (burst - 1);
+        long[] seen = new long[PROBES];
+
+        while (true) {
+            long now = clock.getAsLong() - origin;
+            int slot = -1;
+            int free = -1;
+            int oldest = -1;
+            for (int p = 0; p < PROBES; p++) {
+                int index = (start + p) & mask;
+                long value = slots.get(index);
+                seen[p] = value;
+                if (value >>> TAT_BITS == fingerprint) {
+                    slot = p;
+                    break;
+                }
+                long tat = value & TAT_MASK;
+                if (tat <= now) {
+                    if (free < 0) {
+                        free = p;
+                    }
+                } else if (oldest < 0 || tat < (seen[oldest] & TAT_MASK)) {
+                    oldest = p;
+                }
+            }
+
+            long tat = now;
+            if (slot >= 0) {
+                tat = Math.max(seen[slot] & TAT_MASK, now);
+            } else {
+                slot = free >= 0 ? free : oldest;
+            }
+            if (tat - now > tolerance) {
+                return tat - tolerance - now;
+            }
+            long updated = (fingerprint << TAT_BITS) | (tat + intervalMillis);
+            if (slots.compareAndSet((start + slot) & mask, seen[slot], updated)) {
+                if (free < 0 && seen[slot] >>> TAT_BITS != fingerprint) {
+                    evictions.increment();
+                }
+                return 0;
+            }
+        }
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a final mix so that low and high bits both vary
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
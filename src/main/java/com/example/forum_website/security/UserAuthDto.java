@@ -1,5 +1,7 @@
 package com.example.forum_website.security;
 
+import com.example.forum_website.avatar.AvatarVariant;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,4 +17,9 @@ public class UserAuthDto {
     private String avatar;
     private String email;
     private String phone;
+
+    // Lets templates ask for the avatar at the size they display it
+    public String avatarUrl(int pixels) {
+        return AvatarVariant.forDisplaySize(pixels).url(avatar);
+    }
 }
@@ -1,8 +1,18 @@
 package com.example.forum_website.service;
 
-import org.springframework.data.domain.Page;
-import com.example.forum_website.model.Thread;
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import com.example.forum_website.dto.CreateThreadDto;
+import com.example.forum_website.dto.CursorPage;
+import com.example.forum_website.dto.ThreadSummaryDto;
 
 public interface ThreadService {
-     public Page<Thread> getThreads(int page, int size);
+     public Slice<ThreadSummaryDto> getThreads(int page, int size);
+     public CursorPage<ThreadSummaryDto> getThreadFeed(String cursor, int size);
+     public long getApproximateThreadCount();
+     public CursorPage<ThreadSummaryDto> searchThreads(String query, String cursor, int size);
+     public ThreadSummaryDto createThread(CreateThreadDto createThreadDto);
+     public int createThreads(List<CreateThreadDto> createThreadDtos);
 }
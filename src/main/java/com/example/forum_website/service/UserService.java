@@ -13,6 +13,7 @@ import jakarta.servlet.http.HttpServletResponse;
 public interface UserService {
     void authenticateAndSetToken(LoginDto loginDto, HttpServletResponse response);
     void registerUser(RegisterDto registerDto);
+    Map<String, Boolean> checkAvailability(String username, String email);
     String initiatePasswordReset(String email);
     void resetPassword(String token, String newPassword, String confirmPassword);
     User getUserById(Long userId);
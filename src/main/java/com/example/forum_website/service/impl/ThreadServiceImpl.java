@@ -1,23 +1,216 @@
 package com.example.forum_website.service.impl;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.forum_website.cache.ThreadCountCache;
+import com.example.forum_website.cache.TopicCatalog;
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.dto.CreateThreadDto;
+import com.example.forum_website.dto.CursorPage;
+import com.example.forum_website.dto.ThreadSummaryDto;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.ValidationException;
+import com.example.forum_website.model.Thread;
 import com.example.forum_website.repository.ThreadRepository;
+import com.example.forum_website.repository.TopicRepository;
+import com.example.forum_website.search.SearchHit;
+import com.example.forum_website.search.ThreadSearchIndex;
 import com.example.forum_website.service.ThreadService;
-import com.example.forum_website.model.Thread;
+import com.example.forum_website.util.ExcerptUtil;
+import com.example.forum_website.util.FeedCursor;
+import com.example.forum_website.util.SearchCursor;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class ThreadServiceImpl implements ThreadService {
     @Autowired
     private ThreadRepository threadRepository;
 
+    @Autowired
+    private ThreadCountCache threadCountCache;
+
+    @Autowired
+    private TopicCatalog topicCatalog;
+
+    @Autowired
+    private ThreadSearchIndex threadSearchIndex;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:" + AppConstants.DEFAULT_JDBC_BATCH_SIZE + "}")
+    private int batchSize;
+
     @Override
-    public Page<Thread> getThreads(int page, int size) {
+    public Slice<ThreadSummaryDto> getThreads(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return threadRepository.findAllByOrderByCreatedAtDesc(pageable);
+        Slice<ThreadSummaryDto> threads = threadRepository.findSummaries(pageable);
+        resolveTopicNames(threads.getContent());
+        return threads;
+    }
+
+    @Override
+    public CursorPage<ThreadSummaryDto> getThreadFeed(String cursor, int size) {
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ThreadSummaryDto> threads;
+        if (cursor == null || cursor.isBlank()) {
+            threads = threadRepository.findFeedFirst(limit);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            threads = threadRepository.findFeedAfter(position.getCreatedAt(), position.getId(), limit);
+        }
+        resolveTopicNames(threads);
+
+        if (threads.size() <= size) {
+            return new CursorPage<>(threads, null);
+        }
+        List<ThreadSummaryDto> content = threads.subList(0, size);
+        ThreadSummaryDto last = content.get(size - 1);
+        return new CursorPage<>(List.copyOf(content), FeedCursor.encode(last.getCreatedAt(), last.getId()));
+    }
+
+    @Override
+    public long getApproximateThreadCount() {
+        return threadCountCache.getApproximateTotal();
+    }
+
+    @Override
+    public CursorPage<ThreadSummaryDto> searchThreads(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        if (query.length() > AppConstants.SEARCH_MAX_QUERY_LENGTH) {
+            throw new ValidationException(ErrorCode.SEARCH_QUERY_TOO_LONG);
+        }
+        SearchHit after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        List<SearchHit> hits = threadSearchIndex.search(query, after, size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+        if (hits.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // One primary-key lookup for the page, then back into ranking order
+        Map<Long, ThreadSummaryDto> byId = new HashMap<>();
+        for (ThreadSummaryDto thread : threadRepository.findSummariesByIds(hits.stream().map(SearchHit::threadId).toList())) {
+            byId.put(thread.getId(), thread);
+        }
+        List<ThreadSummaryDto> threads = hits.stream()
+                .map(hit -> byId.get(hit.threadId()))
+                .filter(thread -> thread != null)
+                .toList();
+        resolveTopicNames(threads);
+        return new CursorPage<>(threads, hasNext ? SearchCursor.encode(hits.get(hits.size() - 1)) : null);
+    }
+
+    @Override
+    @Transactional
+    public ThreadSummaryDto createThread(CreateThreadDto createThreadDto) {
+        Thread thread = threadRepository.save(toThread(createThreadDto));
+        Long topicId = createThreadDto.getTopicId();
+        return new ThreadSummaryDto(thread.getId(), thread.getTitle(), thread.getExcerpt(), topicId,
+                topicCatalog.getName(topicId), thread.getCreatedAt());
+    }
+
+    @Override
+    @Transactional
+    public int createThreads(List<CreateThreadDto> createThreadDtos) {
+        if (createThreadDtos.size() > AppConstants.BULK_THREAD_MAX_SIZE) {
+            throw new ValidationException(ErrorCode.THREAD_BATCH_TOO_LARGE);
+        }
+        // Validate everything before the first insert so a bad row does not leave a partial flush behind
+        List<Thread> threads = createThreadDtos.stream().map(this::toThread).toList();
+        for (int from = 0; from < threads.size(); from += batchSize) {
+            threadRepository.saveAll(threads.subList(from, Math.min(from + batchSize, threads.size())));
+            // One JDBC batch per chunk, then drop the managed entities so the session stays small
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return threads.size();
+    }
+
+    // Topic existence comes from the catalog and the FK is set through a proxy, so no topic SELECT is issued
+    private Thread toThread(CreateThreadDto createThreadDto) {
+        if (createThreadDto.getTitle() == null || createThreadDto.getTitle().isBlank()) {
+            throw new ValidationException(ErrorCode.THREAD_TITLE_NOT_BLANK);
+        }
+        if (createThreadDto.getTitle().trim().length() > AppConstants.THREAD_TITLE_MAX_LENGTH) {
+            throw new ValidationException(ErrorCode.THREAD_TITLE_SIZE);
+        }
+        if (createThreadDto.getContent() == null || createThreadDto.getContent().isBlank()) {
+            throw new ValidationException(ErrorCode.THREAD_CONTENT_NOT_BLANK);
+        }
+        if (!topicCatalog.contains(createThreadDto.getTopicId())) {
+            throw new ValidationException(ErrorCode.THREAD_TOPIC_INVALID);
+        }
+        Thread thread = new Thread();
+        thread.setTitle(createThreadDto.getTitle().trim());
+        thread.setContent(createThreadDto.getContent());
+        thread.setTopic(topicRepository.getReferenceById(createThreadDto.getTopicId()));
+        return thread;
+    }
+
+    private void resolveTopicNames(List<ThreadSummaryDto> threads) {
+        for (ThreadSummaryDto thread : threads) {
+            thread.setTopicName(topicCatalog.getName(thread.getTopicId()));
+        }
+    }
+
+    // Computed in Java through ExcerptUtil so old rows render exactly like ones written by @PrePersist
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillExcerpts() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Pageable chunk = PageRequest.of(0, AppConstants.EXCERPT_BACKFILL_BATCH_SIZE);
+        long after = 0;
+        int updated = 0;
+        try {
+            while (true) {
+                long from = after;
+                List<Thread> threads = transactionTemplate.execute(status -> {
+                    List<Thread> rows = threadRepository.findWithoutExcerpt(from, chunk);
+                    // Dirty entities, flushed as JDBC batches on commit
+                    rows.forEach(thread -> thread.setExcerpt(
+                            ExcerptUtil.excerpt(thread.getContent(), AppConstants.THREAD_EXCERPT_LENGTH)));
+                    return rows;
+                });
+                if (threads == null || threads.isEmpty()) {
+                    break;
+                }
+                updated += threads.size();
+                after = threads.get(threads.size() - 1).getId();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill thread excerpts after id {}: {}", after, e.getMessage());
+        }
+        if (updated > 0) {
+            log.info("Backfilled excerpts for {} threads", updated);
+        }
     }
-}
\ No newline at end of file
+}
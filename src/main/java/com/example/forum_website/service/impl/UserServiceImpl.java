@@ -1,28 +1,31 @@
 package com.example.forum_website.service.impl;
 
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.LockedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.forum_website.cache.AccountNameFilter;
+import com.example.forum_website.cache.UserSnapshotCache;
+import com.example.forum_website.constant.AppConstants;
 import com.example.forum_website.dto.ChangePasswordDto;
 import com.example.forum_website.dto.ChangeProfileDto;
 import com.example.forum_website.dto.LoginDto;
 import com.example.forum_website.dto.RegisterDto;
+import com.example.forum_website.enums.ErrorCode;
 import com.example.forum_website.enums.UserRole;
 import com.example.forum_website.model.User;
 import com.example.forum_website.repository.UserRepository;
 import com.example.forum_website.security.JwtUtil;
+import com.example.forum_website.security.PasswordHasher;
+import com.example.forum_website.security.PasswordResetTokenStore;
 import com.example.forum_website.service.UserService;
 import com.example.forum_website.exception.AuthException;
 import com.example.forum_website.exception.DuplicateResourceException;
@@ -35,95 +38,137 @@ import jakarta.servlet.http.HttpServletResponse;
 
 @Service
 public class UserServiceImpl implements UserService {
-    private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final UserSnapshotCache userSnapshotCache;
+    private final AccountNameFilter accountNameFilter;
+    private final PasswordResetTokenStore passwordResetTokenStore;
 
-    public UserServiceImpl(AuthenticationManager authenticationManager, UserRepository userRepository,
-            PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
-        this.authenticationManager = authenticationManager;
+    public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher, JwtUtil jwtUtil,
+            UserSnapshotCache userSnapshotCache, AccountNameFilter accountNameFilter,
+            PasswordResetTokenStore passwordResetTokenStore) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
+        this.userSnapshotCache = userSnapshotCache;
+        this.accountNameFilter = accountNameFilter;
+        this.passwordResetTokenStore = passwordResetTokenStore;
     }
 
     @Override
     public void authenticateAndSetToken(LoginDto loginDto, HttpServletResponse response) {
-        try {
-            Authentication auth = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword()));
-            UserDetails userDetails = (UserDetails) auth.getPrincipal();
-            User user = userRepository.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new UserNotFoundException("auth.userNotFound"));
-            String token = jwtUtil.generateToken(user.getId());
-            Cookie cookie = new Cookie("tokenAuth", token);
-            cookie.setPath("/");
-            cookie.setHttpOnly(true);
-            cookie.setMaxAge((int) (jwtUtil.getExpiration() / 1000));
-            response.addCookie(cookie);
-        } catch (BadCredentialsException e) {
-            throw new AuthException("auth.invalid");
-        } catch (LockedException e) {
-            throw new AuthException("auth.locked");
-        } catch (AuthenticationException e) {
-            throw new AuthException("auth.failed");
+        // Loaded once and checked here rather than through the AuthenticationManager, which would
+        // query the user a second time and run BCrypt on the request thread
+        Optional<User> user = userRepository.findByUsername(loginDto.getUsername());
+        if (user.isEmpty()) {
+            passwordHasher.matchesUnknownUser(loginDto.getPassword());
+            throw new AuthException(ErrorCode.AUTH_INVALID);
+        }
+        if (!passwordHasher.matches(loginDto.getPassword(), user.get().getPassword())) {
+            throw new AuthException(ErrorCode.AUTH_INVALID);
         }
+        String token = jwtUtil.generateToken(user.get().getId());
+        Cookie cookie = new Cookie("tokenAuth", token);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) (jwtUtil.getExpiration() / 1000));
+        response.addCookie(cookie);
     }
 
     @Override
     public void registerUser(RegisterDto registerDto) {
         if (!registerDto.getPassword().equals(registerDto.getConfirmPassword())) {
-            throw new ValidationException("register.passwordsNotMatch");
+            throw new ValidationException(ErrorCode.REGISTER_PASSWORDS_NOT_MATCH);
         }
-        if (userRepository.findByUsername(registerDto.getUsername()).isPresent()) {
-            throw new DuplicateResourceException("register.username.exists");
+        // Only a possible duplicate is looked up, to fail before spending a hash on it; the unique
+        // constraints are what actually reject duplicates, including concurrent registrations
+        if (!isUsernameAvailable(registerDto.getUsername())) {
+            throw new DuplicateResourceException(ErrorCode.REGISTER_USERNAME_EXISTS);
         }
-        if (userRepository.findByEmail(registerDto.getEmail()).isPresent()) {
-            throw new DuplicateResourceException("register.email.exists");
+        if (!isEmailAvailable(registerDto.getEmail())) {
+            throw new DuplicateResourceException(ErrorCode.REGISTER_EMAIL_EXISTS);
         }
         User user = new User(
                 registerDto.getUsername(),
                 registerDto.getEmail(),
-                passwordEncoder.encode(registerDto.getPassword()),
+                passwordHasher.encode(registerDto.getPassword()),
                 UserRole.USER);
         user.setFullname(registerDto.getFullname());
         user.setPhone(registerDto.getPhone());
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(e);
+        }
+        accountNameFilter.add(user.getUsername(), user.getEmail());
+    }
+
+    @Override
+    public Map<String, Boolean> checkAvailability(String username, String email) {
+        Map<String, Boolean> available = new LinkedHashMap<>();
+        if (username != null && !username.isBlank()) {
+            available.put("username", isUsernameAvailable(username));
+        }
+        if (email != null && !email.isBlank()) {
+            available.put("email", isEmailAvailable(email));
+        }
+        return available;
+    }
+
+    private boolean isUsernameAvailable(String username) {
+        return !accountNameFilter.mightContainUsername(username) || userRepository.findByUsername(username).isEmpty();
+    }
+
+    private boolean isEmailAvailable(String email) {
+        return !accountNameFilter.mightContainEmail(email) || userRepository.findByEmail(email).isEmpty();
+    }
+
+    private RuntimeException duplicateOf(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null ? violation.getConstraintName() : String.valueOf(e.getMessage());
+        constraint = constraint.toLowerCase(Locale.ROOT);
+        if (constraint.contains(AppConstants.USERS_USERNAME_UNIQUE_KEY)) {
+            return new DuplicateResourceException(ErrorCode.REGISTER_USERNAME_EXISTS);
+        }
+        if (constraint.contains(AppConstants.USERS_EMAIL_UNIQUE_KEY)) {
+            return new DuplicateResourceException(ErrorCode.REGISTER_EMAIL_EXISTS);
+        }
+        return e;
     }
 
     @Override
     public String initiatePasswordReset(String email) {
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("forgotPassword.emailNotFound," + email));
-        String resetToken = UUID.randomUUID().toString();
-        user.setResetToken(resetToken);
-        userRepository.save(user);
-        return resetToken;
+                .orElseThrow(() -> new UserNotFoundException(ErrorCode.FORGOT_PASSWORD_EMAIL_NOT_FOUND, email));
+        return passwordResetTokenStore.issue(user.getId());
     }
 
     @Override
     public void resetPassword(String token, String newPassword, String confirmPassword) {
         if (!newPassword.equals(confirmPassword)) {
-            throw new ValidationException("resetPassword.passwordsNotMatch");
+            throw new ValidationException(ErrorCode.RESET_PASSWORD_PASSWORDS_NOT_MATCH);
         }
-        User user = userRepository.findByResetToken(token)
-                .orElseThrow(() -> new InvalidTokenException("resetPassword.invalidToken"));
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetToken(null);
+        // Hash before using up the token: a hasher that is busy (503) leaves the token valid for a retry
+        String passwordHash = passwordHasher.encode(newPassword);
+        User user = passwordResetTokenStore.consume(token)
+                .flatMap(userRepository::findById)
+                .orElseThrow(() -> new InvalidTokenException(ErrorCode.RESET_PASSWORD_INVALID_TOKEN));
+        user.setPassword(passwordHash);
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getId());
     }
 
     @Override
     public User getUserById(Long userId) {
         return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("user.notFoundById," + userId));
+                .orElseThrow(() -> new UserNotFoundException(ErrorCode.USER_NOT_FOUND_BY_ID, userId));
     }
 
     @Override
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("user.notFoundByUsername," + username));
+                .orElseThrow(() -> new UserNotFoundException(ErrorCode.USER_NOT_FOUND_BY_USERNAME, username));
     }
 
     @Override
@@ -135,9 +180,11 @@ public class UserServiceImpl implements UserService {
             // Check if email is already taken by another user
             if (userRepository.findByEmail(changeProfileDto.getEmail()).isPresent() && 
                 !currentUser.getEmail().equals(changeProfileDto.getEmail())) {
-                throw new DuplicateResourceException("register.email.exists");
+                throw new DuplicateResourceException(ErrorCode.REGISTER_EMAIL_EXISTS);
             }
             currentUser.setEmail(changeProfileDto.getEmail());
+            // Added before commit: if the update fails the address is only a false "maybe"
+            accountNameFilter.add(null, changeProfileDto.getEmail());
         }
         
         if (changeProfileDto.getPhone() != null) {
@@ -153,26 +200,28 @@ public class UserServiceImpl implements UserService {
         }
         
         userRepository.save(currentUser);
+        userSnapshotCache.invalidate(currentUser.getId());
     }
 
+    // Not transactional: two hashes run in between, and a transaction would hold its connection throughout
     @Override
-    @Transactional
     public void changePassword(ChangePasswordDto changePasswordDto) {
         User currentUser = getCurrentUserInternal();
         
         // Verify current password
-        if (!passwordEncoder.matches(changePasswordDto.getCurrentPassword(), currentUser.getPassword())) {
-            throw new AuthException("auth.invalid");
+        if (!passwordHasher.matches(changePasswordDto.getCurrentPassword(), currentUser.getPassword())) {
+            throw new AuthException(ErrorCode.AUTH_INVALID);
         }
         
         // Check if new password matches confirmation
         if (!changePasswordDto.getNewPassword().equals(changePasswordDto.getConfirmPassword())) {
-            throw new ValidationException("register.passwordsNotMatch");
+            throw new ValidationException(ErrorCode.REGISTER_PASSWORDS_NOT_MATCH);
         }
         
         // Update password
-        currentUser.setPassword(passwordEncoder.encode(changePasswordDto.getNewPassword()));
+        currentUser.setPassword(passwordHasher.encode(changePasswordDto.getNewPassword()));
         userRepository.save(currentUser);
+        userSnapshotCache.invalidate(currentUser.getId());
     }
 
     @Override
@@ -188,6 +237,7 @@ public class UserServiceImpl implements UserService {
         currentUser.setBrowserNotifications((Boolean) notificationSettings.getOrDefault("browserNotifications", false));
         
         userRepository.save(currentUser);
+        userSnapshotCache.invalidate(currentUser.getId());
     }
 
     @Override
@@ -196,6 +246,7 @@ public class UserServiceImpl implements UserService {
         User currentUser = getCurrentUserInternal();
         currentUser.setAvatar(filename);
         userRepository.save(currentUser);
+        userSnapshotCache.invalidate(currentUser.getId());
     }
 
     @Override
@@ -212,7 +263,7 @@ public class UserServiceImpl implements UserService {
     private User getCurrentUserInternal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
-            throw new AuthException("auth.failed");
+            throw new AuthException(ErrorCode.AUTH_FAILED);
         }
         
         String username = authentication.getName();
@@ -0,0 +1,31 @@
+package com.example.forum_website.util;
+
+public final class ExcerptUtil {
+
+    private ExcerptUtil() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Collapses whitespace and cuts the text at a word boundary no longer than maxLength,
+     * appending an ellipsis when anything was dropped.
+     */
+    public static String excerpt(String text, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = text.strip().replaceAll("\\s+", " ");
+        if (normalized.length() <= maxLength) {
+            return normalized;
+        }
+        int end = normalized.lastIndexOf(' ', maxLength);
+        if (end < maxLength / 2) {
+            // No usable word boundary (long word or CJK text), cut hard
+            end = maxLength;
+        }
+        if (Character.isHighSurrogate(normalized.charAt(end - 1))) {
+            end--;
+        }
+        return normalized.substring(0, end).stripTrailing() + "…";
+    }
+}
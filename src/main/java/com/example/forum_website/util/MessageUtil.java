@@ -1,28 +1,110 @@
 package com.example.forum_website.util;
 
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.i18n.LocaleContextHolder;
 
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.ForumException;
+
 public class MessageUtil {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\d+)}");
+
     private final MessageSource messageSource;
+    // Language -> text of every error code, looked up once at startup
+    private final Map<String, Map<ErrorCode, ErrorMessage>> errorMessages = new HashMap<>();
 
     public MessageUtil(MessageSource messageSource) {
         this.messageSource = messageSource;
+        for (String language : AppConstants.SUPPORTED_LANGUAGES) {
+            Locale locale = Locale.forLanguageTag(language);
+            Map<ErrorCode, ErrorMessage> table = new EnumMap<>(ErrorCode.class);
+            for (ErrorCode code : ErrorCode.values()) {
+                table.put(code, ErrorMessage.compile(getMessage(code.getMessageKey(), null, locale), locale));
+            }
+            errorMessages.put(language, table);
+        }
     }
 
     public String getMessage(String code, Object[] args) {
+        return getMessage(code, args, LocaleContextHolder.getLocale());
+    }
+
+    private String getMessage(String code, Object[] args, Locale locale) {
         try {
-            return messageSource.getMessage(code, args, LocaleContextHolder.getLocale());
+            return messageSource.getMessage(code, args, locale);
         } catch (NoSuchMessageException e) {
             return code;
         }
     }
 
+    public String getErrorMessage(ErrorCode code, Object... args) {
+        Map<ErrorCode, ErrorMessage> table = errorMessages.get(LocaleContextHolder.getLocale().getLanguage());
+        if (table == null) {
+            return getMessage(code.getMessageKey(), args.length == 0 ? null : args);
+        }
+        return table.get(code).format(args);
+    }
+
     public String resolveErrorMessage(Exception e) {
-        String[] parts = e.getMessage().split(",");
-        String messageKey = parts[0];
-        Object[] args = parts.length > 1 ? new Object[]{parts[1]} : null;
-        return getMessage(messageKey, args);
+        if (e instanceof ForumException forumException) {
+            return getErrorMessage(forumException.getCode(), forumException.getArgs());
+        }
+        return getMessage(String.valueOf(e.getMessage()), null);
+    }
+
+    /**
+     * A message split at its {@code {n}} placeholders, so filling it in is a concatenation.
+     * Arguments are inserted as text, as they were when keys and arguments travelled as one
+     * string. Patterns using quotes or formatted placeholders go through {@link MessageFormat}.
+     */
+    private record ErrorMessage(String text, String[] literals, int[] placeholders, Locale locale) {
+        static ErrorMessage compile(String text, Locale locale) {
+            if (text.indexOf('{') < 0) {
+                return new ErrorMessage(text, new String[] {text}, new int[0], locale);
+            }
+            if (text.indexOf('\'') >= 0 || PLACEHOLDER.matcher(text).replaceAll("").indexOf('{') >= 0) {
+                return new ErrorMessage(text, null, null, locale);
+            }
+            List<String> literals = new ArrayList<>();
+            List<Integer> placeholders = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            int last = 0;
+            while (matcher.find()) {
+                literals.add(text.substring(last, matcher.start()));
+                placeholders.add(Integer.parseInt(matcher.group(1)));
+                last = matcher.end();
+            }
+            literals.add(text.substring(last));
+            return new ErrorMessage(text, literals.toArray(String[]::new),
+                    placeholders.stream().mapToInt(Integer::intValue).toArray(), locale);
+        }
+
+        String format(Object[] args) {
+            if (literals == null) {
+                return new MessageFormat(text, locale).format(args);
+            }
+            if (placeholders.length == 0) {
+                return text;
+            }
+            StringBuilder message = new StringBuilder(text.length() + 32).append(literals[0]);
+            for (int i = 0; i < placeholders.length; i++) {
+                int index = placeholders[i];
+                message.append(index < args.length ? String.valueOf(args[index]) : "{" + index + "}")
+                        .append(literals[i + 1]);
+            }
+            return message.toString();
+        }
     }
 }
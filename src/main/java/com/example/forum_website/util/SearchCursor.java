@@ -0,0 +1,39 @@
+package com.example.forum_website.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.ValidationException;
+import com.example.forum_website.search.SearchHit;
+
+/**
+ * Opaque cursor over (score, id) for search results. The score is carried as its exact bit
+ * pattern so the next page resumes precisely after the last hit.
+ */
+public final class SearchCursor {
+    private static final char SEPARATOR = '|';
+
+    private SearchCursor() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static String encode(SearchHit hit) {
+        String raw = Long.toHexString(Double.doubleToLongBits(hit.score())) + SEPARATOR + hit.threadId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchHit decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException(ErrorCode.SEARCH_CURSOR_INVALID);
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16));
+            return new SearchHit(Long.parseLong(raw.substring(separator + 1)), score);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(ErrorCode.SEARCH_CURSOR_INVALID);
+        }
+    }
+}
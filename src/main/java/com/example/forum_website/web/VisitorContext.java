@@ -0,0 +1,76 @@
+package com.example.forum_website.web;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.example.forum_website.cache.UserSnapshot;
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.constant.JwtConstants;
+import com.example.forum_website.constant.SecurityConstants;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Everything about the visitor a request needs, read from its cookies in one pass by
+ * {@link VisitorContextFilter} and kept as the {@link AppConstants#VISITOR_ATTRIBUTE} request
+ * attribute. The app is stateless, so this is the only per-visitor state and it lives only as
+ * long as the request. Changes within a request, such as the signed-in user resolved by
+ * JwtAuthenticationFilter or a {@code ?lang=} switch, replace the attribute with a copy.
+ *
+ * @param authToken the JWT cookie, not yet validated
+ * @param locale the locale cookie, or null for the default
+ * @param theme one of the supported themes, never null
+ * @param resetToken the password reset token, only sent to the reset page
+ * @param user the signed-in user, once resolved
+ */
+public record VisitorContext(String authToken, Locale locale, String theme, String resetToken, UserSnapshot user) {
+    private static final List<String> SUPPORTED_THEMES = List.of(AppConstants.SUPPORTED_THEMES);
+
+    public static VisitorContext parse(Cookie[] cookies) {
+        String authToken = null;
+        Locale locale = null;
+        String theme = AppConstants.DEFAULT_THEME;
+        String resetToken = null;
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                String value = cookie.getValue();
+                if (value == null || value.isEmpty()) {
+                    continue;
+                }
+                switch (cookie.getName()) {
+                    case JwtConstants.TOKEN_COOKIE_NAME -> authToken = value;
+                    case AppConstants.LOCALE_COOKIE_NAME -> locale = parseLocale(value);
+                    case AppConstants.THEME_COOKIE_NAME -> theme = SUPPORTED_THEMES.contains(value) ? value : theme;
+                    case SecurityConstants.RESET_TOKEN_COOKIE_NAME -> resetToken = value;
+                    default -> { }
+                }
+            }
+        }
+        return new VisitorContext(authToken, locale, theme, resetToken, null);
+    }
+
+    /** The context of this request, parsed here if the filter did not run for it. */
+    public static VisitorContext of(HttpServletRequest request) {
+        if (request.getAttribute(AppConstants.VISITOR_ATTRIBUTE) instanceof VisitorContext context) {
+            return context;
+        }
+        VisitorContext context = parse(request.getCookies());
+        request.setAttribute(AppConstants.VISITOR_ATTRIBUTE, context);
+        return context;
+    }
+
+    public VisitorContext withUser(UserSnapshot user) {
+        return new VisitorContext(authToken, locale, theme, resetToken, user);
+    }
+
+    public VisitorContext withLocale(Locale locale) {
+        return new VisitorContext(authToken, locale, theme, resetToken, user);
+    }
+
+    // Accepts the language tags written by VisitorLocaleResolver and the en_US form CookieLocaleResolver also read
+    private static Locale parseLocale(String value) {
+        Locale locale = Locale.forLanguageTag(value.replace('_', '-'));
+        return locale.getLanguage().isEmpty() ? null : locale;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.forum_website.web;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.forum_website.constant.AppConstants;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Parses the cookies once per request into a {@link VisitorContext}, ahead of the security
+ * filters so that JwtAuthenticationFilter, the locale resolver, the theme and the reset page all
+ * read the same parsed values instead of each scanning the cookie array.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class VisitorContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(AppConstants.VISITOR_ATTRIBUTE, VisitorContext.parse(request.getCookies()));
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.forum_website.web;
+
+import java.util.Locale;
+
+import org.springframework.web.servlet.LocaleResolver;
+
+import com.example.forum_website.constant.AppConstants;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Locale from the {@link VisitorContext} rather than another pass over the cookies; changing it
+ * writes the same {@code locale} cookie CookieLocaleResolver used, so existing choices carry over.
+ */
+public class VisitorLocaleResolver implements LocaleResolver {
+    private final Locale defaultLocale;
+
+    public VisitorLocaleResolver(Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+    }
+
+    @Override
+    public Locale resolveLocale(HttpServletRequest request) {
+        Locale locale = VisitorContext.of(request).locale();
+        return locale != null ? locale : defaultLocale;
+    }
+
+    @Override
+    public void setLocale(HttpServletRequest request, HttpServletResponse response, Locale locale) {
+        Cookie cookie = new Cookie(AppConstants.LOCALE_COOKIE_NAME, locale != null ? locale.toLanguageTag() : null);
+        cookie.setPath("/");
+        cookie.setMaxAge(locale != null ? AppConstants.LOCALE_COOKIE_MAX_AGE : 0);
+        response.addCookie(cookie);
+        // The rest of this request already renders in the new locale
+        request.setAttribute(AppConstants.VISITOR_ATTRIBUTE, VisitorContext.of(request).withLocale(locale));
+    }
+}
@@ -16,6 +16,10 @@ $(document).ready(function () {
         handleRegister($(this));
     });
 
+    $('form[action="/register"]').find('#username, #email').on('input', function () {
+        checkAvailability($(this));
+    });
+
     $('form[action="/forgot-password"]').submit(function (e) {
         e.preventDefault();
         handleForgotPassword($(this));
@@ -104,6 +108,32 @@ function handleRegister($form) {
     });
 }
 
+// Checks a username or email while it is typed, once the user pauses
+let availabilityTimer;
+function checkAvailability($field) {
+    clearTimeout(availabilityTimer);
+    const name = $field.attr('name');
+    const value = $field.val().trim();
+    $field.removeClass('is-invalid is-valid').next('.is-invalid-msg').remove();
+    if (!value || !$field[0].checkValidity()) {
+        return;
+    }
+    availabilityTimer = setTimeout(function () {
+        $.get('/api/register/available', { [name]: value }).done(function (resp) {
+            if (resp.status !== 'ok' || $field.val().trim() !== value) {
+                return;
+            }
+            const error = resp.data.errors[name];
+            if (error) {
+                $field.addClass('is-invalid');
+                $field.after(`<div class="text-danger is-invalid-msg">${error}</div>`);
+            } else {
+                $field.addClass('is-valid');
+            }
+        });
+    }, 300);
+}
+
 function handleForgotPassword($form) {
     const formData = {};
     $form.serializeArray().forEach(({ name, value }) => formData[name] = value);
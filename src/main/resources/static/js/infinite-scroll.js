@@ -1,29 +1,35 @@
 $(document).ready(function() {
-    let currentPage = [[${currentPage}]];
-    const totalPages = [[${totalPages}]];
+    const threadList = $('#thread-list');
+    // Opaque keyset cursor handed out by the server, absent once the feed is exhausted
+    let nextCursor = threadList.attr('data-next-cursor') || null;
     let isLoading = false;
+    const topicLabel = threadList.attr('data-label-topic') || 'Topic';
+    const postedOnLabel = threadList.attr('data-label-posted-on') || 'Posted on';
+
+    function renderThread(thread) {
+        const body = $('<div class="card-body"></div>');
+        body.append($('<h5 class="card-title"></h5>').text(thread.title));
+        body.append($('<p class="card-text"></p>').text(thread.excerpt));
+        const meta = $('<small class="text-muted"></small>')
+            .text(topicLabel + ': ' + thread.topicName + ' | ' + postedOnLabel + ' ' + new Date(thread.createdAt).toLocaleString());
+        body.append($('<p class="card-text"></p>').append(meta));
+        return $('<div class="card mb-3"></div>').append(body);
+    }
 
     $(window).scroll(function() {
-        if ($(window).scrollTop() + $(window).height() >= $(document).height() - 100 && !isLoading && currentPage < totalPages - 1) {
+        if ($(window).scrollTop() + $(window).height() >= $(document).height() - 100 && !isLoading && nextCursor) {
             isLoading = true;
             $('#loading').show();
-            currentPage++;
 
             $.ajax({
-                url: '/api/threads?page=' + currentPage,
+                url: '/api/threads/feed',
                 type: 'GET',
+                data: { cursor: nextCursor },
                 success: function(data) {
                     data.content.forEach(function(thread) {
-                        $('#thread-list').append(
-                            '<div class="card mb-3">' +
-                                '<div class="card-body">' +
-                                    '<h5 class="card-title">' + thread.title + '</h5>' +
-                                    '<p class="card-text">' + thread.content + '</p>' +
-                                    '<p class="card-text"><small class="text-muted">Topic: ' + thread.topic.name + ' | Posted on ' + new Date(thread.createdAt).toLocaleString() + '</small></p>' +
-                                '</div>' +
-                            '</div>'
-                        );
+                        threadList.append(renderThread(thread));
                     });
+                    nextCursor = data.next;
                     isLoading = false;
                     $('#loading').hide();
                 },
@@ -34,4 +40,4 @@ $(document).ready(function() {
             });
         }
     });
-});
\ No newline at end of file
+});
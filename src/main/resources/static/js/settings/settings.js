@@ -126,8 +126,7 @@ function updateProfileDisplay(userData) {
     // Update avatar
     const avatarEl = document.getElementById('profileAvatar');
     if (avatarEl && userData.avatar) {
-        const avatarUrl = userData.avatar.startsWith('/') ? userData.avatar : '/avatar/' + userData.avatar;
-        avatarEl.src = avatarUrl;
+        avatarEl.src = avatarVariantUrl(userData.avatar, 256);
     }
 
     // Update form fields in edit modal
@@ -149,8 +148,7 @@ function updateProfileDisplay(userData) {
     // Update header avatar if exists
     const headerAvatar = document.querySelector('.navbar img[alt="Avatar"]');
     if (headerAvatar && userData.avatar) {
-        const avatarUrl = userData.avatar.startsWith('/') ? userData.avatar : '/avatar/' + userData.avatar;
-        headerAvatar.src = avatarUrl;
+        setHeaderAvatar(headerAvatar, userData.avatar);
     }
 }
 
@@ -178,12 +176,15 @@ function fetchAndUpdateUserData() {
 
 function uploadAvatar(input) {
     if (input.files && input.files[0]) {
-        const formData = new FormData();
-        formData.append('avatar', input.files[0]);
+        // Sent as the raw request body so the server can stream it to storage
+        const file = input.files[0];
         
         fetch('/api/settings/avatar', {
             method: 'POST',
-            body: formData
+            headers: {
+                'Content-Type': file.type || 'application/octet-stream'
+            },
+            body: file
         })
         .then(response => response.json())
         .then(data => {
@@ -204,25 +205,31 @@ function uploadAvatar(input) {
     }
 }
 
+// Avatars are stored as pre-sized variants: <name>-<pixels>.png for PNG avatars, .jpg otherwise
+function avatarVariantUrl(avatar, pixels) {
+    const dot = avatar.lastIndexOf('.');
+    const stem = dot > 0 ? avatar.substring(0, dot) : avatar;
+    const extension = avatar.toLowerCase().endsWith('.png') ? '.png' : '.jpg';
+    return '/avatar/' + stem + '-' + pixels + extension;
+}
+
+function setHeaderAvatar(img, avatar) {
+    img.src = avatarVariantUrl(avatar, 32);
+    img.srcset = avatarVariantUrl(avatar, 32) + ' 1x, ' + avatarVariantUrl(avatar, 64) + ' 2x';
+}
+
 function updateAvatarDisplay(filename) {
-    const avatarUrl = '/avatar/' + filename;
-    
     // Update profile avatar
     const profileAvatar = document.getElementById('profileAvatar');
     if (profileAvatar) {
-        profileAvatar.src = avatarUrl;
+        profileAvatar.src = avatarVariantUrl(filename, 256);
     }
     
     // Update header avatar (if exists)
     const headerAvatar = document.querySelector('.navbar img[alt="Avatar"]');
     if (headerAvatar) {
-        headerAvatar.src = avatarUrl;
+        setHeaderAvatar(headerAvatar, filename);
     }
-    
-    // Update all avatar images in the page
-    document.querySelectorAll('img[alt="Avatar"]').forEach(img => {
-        img.src = avatarUrl;
-    });
 }
 
 // ============================================================================
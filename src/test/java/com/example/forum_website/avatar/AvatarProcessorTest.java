@@ -0,0 +1,95 @@
+package com.example.forum_website.avatar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.forum_website.exception.ValidationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvatarProcessorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+    private AvatarProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(2);
+        executor.initialize();
+        processor = new AvatarProcessor(uploadDir.toString(), executor, meterRegistry, 5_000, 10_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void store_shouldWriteSquareVariantsAndDeleteShouldRemoveThem() throws Exception {
+        String avatar = processor.createVariants(upload(image(900, 600, BufferedImage.TYPE_INT_RGB), "jpeg"), "photo");
+
+        assertEquals("photo.jpg", avatar);
+        for (AvatarVariant variant : AvatarVariant.values()) {
+            BufferedImage stored = ImageIO.read(uploadDir.resolve(variant.fileName(avatar)).toFile());
+            assertEquals(variant.getPixels(), stored.getWidth());
+            assertEquals(variant.getPixels(), stored.getHeight());
+        }
+        assertEquals(1, meterRegistry.get("forum.avatar.process").timer().count());
+
+        processor.delete(avatar);
+        Files.delete(uploadDir.resolve("upload"));
+        try (var files = Files.list(uploadDir)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    void store_shouldKeepTransparencyAsPngAndRejectNonImages() throws Exception {
+        String avatar = processor.createVariants(upload(image(300, 300, BufferedImage.TYPE_INT_ARGB), "png"), "logo");
+
+        assertEquals("logo.png", avatar);
+        assertTrue(ImageIO.read(uploadDir.resolve(AvatarVariant.SMALL.fileName(avatar)).toFile())
+                .getColorModel().hasAlpha());
+
+        Path text = Files.writeString(uploadDir.resolve("text"), "not an image");
+        ValidationException e = assertThrows(ValidationException.class, () -> processor.createVariants(text, "text"));
+        assertEquals("avatar.upload.invalidType", e.getMessage());
+    }
+
+    static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8 | (x < width / 2 ? 0xff000000 : 0x80000000));
+            }
+        }
+        return image;
+    }
+
+    private Path upload(BufferedImage image, String format) throws Exception {
+        Path file = uploadDir.resolve("upload");
+        ImageIO.write(image, format, file.toFile());
+        return file;
+    }
+}
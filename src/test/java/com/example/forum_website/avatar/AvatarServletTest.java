@@ -0,0 +1,92 @@
+package com.example.forum_website.avatar;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AvatarServletTest {
+    private static final String AVATAR = "5cf6ba3e-8165-410e-b922-cd151eb54f4b-64.jpg";
+
+    @TempDir
+    Path directory;
+
+    private final byte[] content = new byte[1000];
+    private AvatarServlet servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(directory.resolve(AVATAR), content);
+        Files.write(directory.resolve("default-avatar-64.png"), content);
+        servlet = new AvatarServlet(directory);
+    }
+
+    @Test
+    void get_shouldServeWithValidatorsAndAnswerConditionalRequests() throws Exception {
+        MockHttpServletResponse response = get(AVATAR, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertArrayEquals(content, response.getContentAsByteArray());
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        MockHttpServletRequest conditional = request(AVATAR);
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        servlet.service(conditional, notModified);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+
+        assertEquals("public, max-age=3600", get("default-avatar-64.png", null).getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(404, get("..%2Fsecret", null).getStatus());
+        assertEquals(404, get("missing.jpg", null).getStatus());
+    }
+
+    @Test
+    void get_shouldServeSingleByteRanges() throws Exception {
+        MockHttpServletResponse partial = get(AVATAR, "bytes=100-199");
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 100-199/1000", partial.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), partial.getContentAsByteArray());
+
+        MockHttpServletResponse suffix = get(AVATAR, "bytes=-10");
+        assertEquals("bytes 990-999/1000", suffix.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content, 990, 1000), suffix.getContentAsByteArray());
+
+        MockHttpServletResponse unsatisfiable = get(AVATAR, "bytes=1000-");
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */1000", unsatisfiable.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    private MockHttpServletResponse get(String name, String range) throws Exception {
+        MockHttpServletRequest request = request(name);
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String name) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/avatar/" + name);
+        request.setServletPath("/avatar");
+        request.setPathInfo("/" + name);
+        return request;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.forum_website.avatar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.forum_website.exception.ValidationException;
+import com.example.forum_website.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvatarStoreTest {
+    private static final long GRACE_MS = 60_000;
+
+    @TempDir
+    Path uploadDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private ThreadPoolTaskExecutor executor;
+    private AvatarStore store;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(2);
+        executor.initialize();
+        AvatarProcessor processor = new AvatarProcessor(uploadDir.toString(), executor, meterRegistry, 5_000, 10_000_000);
+        store = new AvatarStore(processor, userRepository, meterRegistry, uploadDir, 64 * 1024, GRACE_MS, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void store_identicalImages_shouldShareFilesUntilUnreferenced() throws Exception {
+        byte[] jpeg = jpeg();
+
+        String first = store.store(new ByteArrayInputStream(jpeg));
+        String second = store.store(new ByteArrayInputStream(jpeg));
+
+        assertEquals(first, second);
+        assertTrue(first.matches("[0-9a-f]{64}\\.jpg"));
+        assertEquals(1, meterRegistry.get("forum.avatar.process").timer().count());
+        assertEquals(1, meterRegistry.get("forum.avatar.deduplicated").counter().count());
+        try (var files = Files.list(uploadDir)) {
+            assertEquals(AvatarVariant.values().length, files.count());
+        }
+
+        // Still in use by one user, then released by the last one
+        when(userRepository.countByAvatar(first)).thenReturn(1L, 0L);
+        store.release(first);
+        store.collectGarbage();
+        assertTrue(Files.exists(uploadDir.resolve(AvatarVariant.SMALL.fileName(first))), "within grace period");
+
+        now.addAndGet(GRACE_MS);
+        store.collectGarbage();
+        assertTrue(Files.exists(uploadDir.resolve(AvatarVariant.SMALL.fileName(first))), "still referenced");
+
+        store.release(first);
+        store.collectGarbage();
+        try (var files = Files.list(uploadDir)) {
+            assertFalse(files.findAny().isPresent());
+        }
+        assertEquals(1, meterRegistry.get("forum.avatar.collected").counter().count());
+    }
+
+    @Test
+    void store_shouldRejectByContentNotClaimedType() throws Exception {
+        ValidationException notImage = assertThrows(ValidationException.class,
+                () -> store.store(new ByteArrayInputStream("<svg onload=alert(1)>".getBytes())));
+        assertEquals("avatar.upload.invalidType", notImage.getMessage());
+
+        byte[] oversized = new byte[128 * 1024];
+        System.arraycopy(jpeg(), 0, oversized, 0, 3);
+        ValidationException tooLarge = assertThrows(ValidationException.class,
+                () -> store.store(new ByteArrayInputStream(oversized)));
+        assertEquals("avatar.upload.tooLarge", tooLarge.getMessage());
+
+        ValidationException empty = assertThrows(ValidationException.class,
+                () -> store.store(new ByteArrayInputStream(new byte[0])));
+        assertEquals("avatar.upload.empty", empty.getMessage());
+
+        try (var files = Files.list(uploadDir)) {
+            assertFalse(files.findAny().isPresent(), "partial uploads are removed");
+        }
+    }
+
+    private static byte[] jpeg() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(AvatarProcessorTest.image(400, 300, BufferedImage.TYPE_INT_RGB), "jpeg", out);
+        return out.toByteArray();
+    }
+}
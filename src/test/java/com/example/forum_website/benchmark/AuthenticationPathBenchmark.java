@@ -0,0 +1,117 @@
+package com.example.forum_website.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.forum_website.cache.UserSnapshot;
+import com.example.forum_website.cache.UserSnapshotCache;
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.constant.JwtConstants;
+import com.example.forum_website.enums.UserRole;
+import com.example.forum_website.model.User;
+import com.example.forum_website.repository.UserRepository;
+import com.example.forum_website.security.CurrentUserControllerAdvice;
+import com.example.forum_website.security.JwtAuthenticationFilter;
+import com.example.forum_website.security.JwtUtil;
+import com.example.forum_website.security.UserAuthDto;
+import com.example.forum_website.web.VisitorContext;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * What every page request pays before reaching a controller: parsing the cookies into the
+ * visitor context, the JWT filter, then the advice that puts the current user into the model. The repository is a stub-only mock, so a
+ * cache miss costs the snapshot mapping but no database round trip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationPathBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    @Param({"anonymous", "authenticated"})
+    public String caller;
+
+    private JwtAuthenticationFilter filter;
+    private CurrentUserControllerAdvice advice;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private MockHttpServletRequest resolvedRequest;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", "mysecretkey");
+        ReflectionTestUtils.setField(jwtUtil, "EXPIRATION", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 50_000);
+        ReflectionTestUtils.setField(jwtUtil, "negativeTtlSeconds", 60L);
+        jwtUtil.init();
+
+        User user = new User("alice", "alice@example.com", "", UserRole.USER);
+        user.setId(42L);
+        user.setFullname("Alice");
+        // stubOnly keeps Mockito from recording every invocation for the length of the run
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, new SimpleMeterRegistry(), 10_000, 300);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userSnapshotCache", userSnapshotCache);
+        advice = new CurrentUserControllerAdvice();
+
+        request = new MockHttpServletRequest("GET", "/");
+        if ("authenticated".equals(caller)) {
+            request.setCookies(new Cookie(JwtConstants.TOKEN_COOKIE_NAME, jwtUtil.generateToken(42L)));
+        }
+        response = new MockHttpServletResponse();
+
+        resolvedRequest = new MockHttpServletRequest("GET", "/");
+        if ("authenticated".equals(caller)) {
+            resolvedRequest.setAttribute(AppConstants.VISITOR_ATTRIBUTE, VisitorContext.parse(null).withUser(UserSnapshot.from(user)));
+        }
+    }
+
+    @Benchmark
+    public Object filter() throws ServletException, IOException {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Object user = VisitorContext.of(request).user();
+        // OncePerRequestFilter marks the request as filtered, reset it like a new request would be
+        request.clearAttributes();
+        SecurityContextHolder.clearContext();
+        return user;
+    }
+
+    @Benchmark
+    public UserAuthDto userAuth() {
+        return advice.getUserAuth(resolvedRequest);
+    }
+}
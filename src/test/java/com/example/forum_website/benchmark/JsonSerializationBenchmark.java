@@ -0,0 +1,80 @@
+package com.example.forum_website.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.dto.ApiResponse;
+import com.example.forum_website.dto.CursorPage;
+import com.example.forum_website.dto.ThreadSummaryDto;
+import com.example.forum_website.enums.ToastType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writing the JSON bodies the API returns: a toast response and a page of threads, both as the
+ * cursor feed and as the older page-numbered slice. The object mapper is built the way Spring Boot
+ * builds its own, so dates go through the same JavaTimeModule path as in production.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private ApiResponse apiResponse;
+    private CursorPage<ThreadSummaryDto> threadFeed;
+    private Slice<ThreadSummaryDto> threadSlice;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        apiResponse = new ApiResponse("ok", ToastType.SUCCESS, "Thread created",
+                Map.of("thread", new ThreadSummaryDto(1L, "Thread title", "Excerpt", 1L, "General", createdAt)));
+
+        List<ThreadSummaryDto> threads = new ArrayList<>();
+        for (int i = 0; i < AppConstants.DEFAULT_THREAD_PAGE_SIZE; i++) {
+            threads.add(new ThreadSummaryDto((long) i, "Thread title " + i,
+                    "A short excerpt of the thread body, as the list renders it " + i, 1L, "General",
+                    createdAt.plusMinutes(i)));
+        }
+        threadFeed = new CursorPage<>(threads, "MTczNTczMjgwMDAwMDoxOQ");
+        threadSlice = new SliceImpl<>(threads, PageRequest.of(0, AppConstants.DEFAULT_THREAD_PAGE_SIZE), true);
+    }
+
+    @Benchmark
+    public byte[] apiResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(apiResponse);
+    }
+
+    @Benchmark
+    public byte[] threadFeed() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(threadFeed);
+    }
+
+    @Benchmark
+    public byte[] threadSlice() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(threadSlice);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.forum_website.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.forum_website.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Cached vs. uncached token validation. The uncached variants reproduce the previous
+ * {@code Jwts.parser().setSigningKey(String)} call made on every request.
+ * {@code generate} is the cost of signing a fresh token at login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JwtValidationBenchmark {
+    private static final String SECRET = "mysecretkey";
+
+    private JwtUtil jwtUtil;
+    private String validToken;
+    private String forgedToken;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "EXPIRATION", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 50_000);
+        ReflectionTestUtils.setField(jwtUtil, "negativeTtlSeconds", 60L);
+        jwtUtil.init();
+
+        validToken = jwtUtil.generateToken(42L);
+        int signatureStart = validToken.lastIndexOf('.') + 1;
+        forgedToken = validToken.substring(0, signatureStart) + "AAAA" + validToken.substring(signatureStart + 4);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(42L);
+    }
+
+    @Benchmark
+    public Claims validUncached() {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(validToken).getBody();
+    }
+
+    @Benchmark
+    public Claims validCached() {
+        return jwtUtil.validateToken(validToken);
+    }
+
+    @Benchmark
+    public Claims forgedUncached() {
+        try {
+            return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(forgedToken).getBody();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Claims forgedCached() {
+        return jwtUtil.validateToken(forgedToken);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.forum_website.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.AuthException;
+import com.example.forum_website.exception.UserNotFoundException;
+import com.example.forum_website.util.MessageUtil;
+
+/**
+ * Turning a failed call into its toast text, with the message source configured as in LocaleConfig.
+ * The error path benchmarks throw from {@code depth} frames down, roughly where a service sits
+ * under Tomcat, the security filters and Spring MVC, then catch and resolve the message:
+ * {@code stacklessError} is a failed login as it is thrown now, {@code stackTraceError} the same
+ * failure as a plain exception resolved through the message source, as it was before error codes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageResolutionBenchmark {
+    @Param({"vi", "en", "ja"})
+    public String locale;
+
+    @Param({"100"})
+    public int depth;
+
+    private MessageUtil messageUtil;
+    private UserNotFoundException errorWithArgument;
+
+    @Setup
+    public void setup() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename(AppConstants.MESSAGES_BASENAME);
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setUseCodeAsDefaultMessage(true);
+        messageUtil = new MessageUtil(messageSource);
+        LocaleContextHolder.setLocale(Locale.forLanguageTag(locale));
+
+        errorWithArgument = new UserNotFoundException(ErrorCode.USER_NOT_FOUND_BY_ID, 42L);
+    }
+
+    @Benchmark
+    public String stacklessError() {
+        try {
+            throwAt(depth, () -> new AuthException(ErrorCode.AUTH_INVALID));
+            return null;
+        } catch (AuthException e) {
+            return messageUtil.resolveErrorMessage(e);
+        }
+    }
+
+    @Benchmark
+    public String stackTraceError() {
+        try {
+            throwAt(depth, () -> new IllegalStateException("auth.invalid"));
+            return null;
+        } catch (IllegalStateException e) {
+            return messageUtil.getMessage(e.getMessage(), null);
+        }
+    }
+
+    @Benchmark
+    public String keyWithArgument() {
+        return messageUtil.resolveErrorMessage(errorWithArgument);
+    }
+
+    @Benchmark
+    public String keyWithArgumentFromMessageSource() {
+        return messageUtil.getMessage("user.notFoundById", new Object[] {"42"});
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> error) {
+        if (depth == 0) {
+            throw error.get();
+        }
+        throwAt(depth - 1, error);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.forum_website.benchmark;
+
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Thread inserts per second with the old IDENTITY ids and the pooled sequence, with and without
+ * JDBC batching. H2 is reached through its TCP server on loopback so every statement pays a real
+ * round trip, as it would against MySQL; over a real network the gap is wider still.
+ * The entities mirror the threads columns without the Spring-managed listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadInsertBenchmark {
+    private static final int ROWS_PER_INVOCATION = 500;
+
+    @Param({"identity", "pooled"})
+    public String idStrategy;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private Server server;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass("identity".equals(idStrategy) ? IdentityThread.class : PooledThread.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:" + UUID.randomUUID()
+                                + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.SHOW_SQL, "false");
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    // Keeps the table the same size from one iteration to the next
+    @Setup(Level.Iteration)
+    public void truncate() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeMutationQuery("TRUNCATE TABLE threads").executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void insertThreads() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+                session.persist(newThread(i));
+                if ((i + 1) % 50 == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    private Object newThread(int i) {
+        if ("identity".equals(idStrategy)) {
+            IdentityThread thread = new IdentityThread();
+            thread.title = "Thread " + i;
+            thread.content = "Benchmark content for thread " + i;
+            thread.topicId = 1L;
+            return thread;
+        }
+        PooledThread thread = new PooledThread();
+        thread.title = "Thread " + i;
+        thread.content = "Benchmark content for thread " + i;
+        thread.topicId = 1L;
+        return thread;
+    }
+
+    @Entity
+    @Table(name = "threads")
+    public static class IdentityThread {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(nullable = false)
+        String title;
+
+        @Column(columnDefinition = "TEXT")
+        String content;
+
+        @Column(name = "topic_id", nullable = false)
+        Long topicId;
+    }
+
+    @Entity
+    @Table(name = "threads")
+    public static class PooledThread {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "threads_seq")
+        @SequenceGenerator(name = "threads_seq", sequenceName = "threads_seq", allocationSize = 50)
+        Long id;
+
+        @Column(nullable = false)
+        String title;
+
+        @Column(columnDefinition = "TEXT")
+        String content;
+
+        @Column(name = "topic_id", nullable = false)
+        Long topicId;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.forum_website.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.session.StandardManager;
+import org.apache.catalina.util.StandardSessionIdGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.constant.JwtConstants;
+import com.example.forum_website.web.VisitorContext;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Heap held for {@code visitors} visitors at once, read as {@code retainedKb} after a full GC
+ * (JMH sums it over the iterations; the raw data in the result file has one value each).
+ * Each run drops what the previous one held before taking its baseline.
+ * {@code sessionPerVisitor} is what ThemeInterceptor did: a Tomcat session holding the theme,
+ * created by Tomcat's own manager and kept until it times out, long after the request.
+ * {@code visitorContext} is the current path with all visitors' requests in flight together,
+ * the worst case; a context is garbage as soon as its request ends.
+ * Forked on G1, the server default; under SerialGC, which small containers pick, used heap after
+ * {@code System.gc()} does not drop what the previous iteration freed and every reading is ~0.
+ * Run with {@code mvn -Pbenchmark test -Djmh.include=VisitorFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseG1GC")
+public class VisitorFootprintBenchmark {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Param({"10000"})
+    public int visitors;
+
+    private Cookie[][] cookies;
+    // Keeps what was built reachable through the second GC; cleared before the next iteration
+    private Object held;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedKb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedKb = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        String[] themes = AppConstants.SUPPORTED_THEMES;
+        String[] languages = AppConstants.SUPPORTED_LANGUAGES;
+        cookies = new Cookie[visitors][];
+        for (int i = 0; i < visitors; i++) {
+            cookies[i] = new Cookie[] {
+                new Cookie(JwtConstants.TOKEN_COOKIE_NAME, "token-" + i),
+                new Cookie(AppConstants.LOCALE_COOKIE_NAME, languages[i % languages.length]),
+                new Cookie(AppConstants.THEME_COOKIE_NAME, themes[i % themes.length])
+            };
+        }
+    }
+
+    @Benchmark
+    public void sessionPerVisitor(Footprint footprint) {
+        held = null;
+        long before = usedHeapAfterGc();
+        StandardManager manager = new StandardManager();
+        manager.setContext(new StandardContext());
+        manager.setSessionIdGenerator(new StandardSessionIdGenerator());
+        for (int i = 0; i < visitors; i++) {
+            Session session = manager.createSession(null);
+            session.getSession().setAttribute(AppConstants.THEME_COOKIE_NAME, themeOf(cookies[i]));
+        }
+        held = manager;
+        footprint.retainedKb = (usedHeapAfterGc() - before) >> 10;
+    }
+
+    @Benchmark
+    public void visitorContext(Footprint footprint) {
+        held = null;
+        long before = usedHeapAfterGc();
+        VisitorContext[] inFlight = new VisitorContext[visitors];
+        for (int i = 0; i < visitors; i++) {
+            inFlight[i] = VisitorContext.parse(cookies[i]);
+        }
+        held = inFlight;
+        footprint.retainedKb = (usedHeapAfterGc() - before) >> 10;
+    }
+
+    private static String themeOf(Cookie[] cookies) {
+        for (Cookie cookie : cookies) {
+            if (AppConstants.THEME_COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.forum_website.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNameFilterTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private AccountNameFilter filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new AccountNameFilter(jdbcTemplate, new SimpleMeterRegistry(), 1000, 0.01);
+    }
+
+    @Test
+    void mightContain_beforeLoad_shouldAnswerMaybe() {
+        assertTrue(filter.mightContainUsername("anyone"));
+        assertTrue(filter.mightContainEmail("anyone@example.com"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mightContain_afterLoad_shouldKnowLoadedAndAddedNames() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, "John", "john@example.com"}));
+        filter.load();
+        filter.add("jane", "Jane@Example.com");
+
+        assertTrue(filter.mightContainUsername("john"));
+        assertTrue(filter.mightContainEmail("JOHN@example.com"));
+        assertTrue(filter.mightContainUsername("Jane"));
+        assertTrue(filter.mightContainEmail("jane@example.com"));
+        assertFalse(filter.mightContainUsername("ghost"));
+        // Usernames and emails are kept apart
+        assertFalse(filter.mightContainEmail("john"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void load_rebuild_shouldLearnNamesWrittenOutsideThisInstance() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, "john", "john@example.com"}))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, "john", "john@example.com"},
+                        new Object[] {2L, "imported", "imported@example.com"}));
+        filter.load();
+        assertFalse(filter.mightContainUsername("imported"));
+
+        filter.load();
+
+        assertTrue(filter.mightContainUsername("imported"));
+        assertTrue(filter.mightContainEmail("imported@example.com"));
+        assertTrue(filter.mightContainUsername("john"));
+    }
+
+    @Test
+    void load_failedRebuild_shouldKeepCurrentFilter() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        filter.load();
+
+        assertTrue(filter.mightContainUsername("anyone"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.forum_website.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.forum_website.model.Topic;
+import com.example.forum_website.repository.TopicRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TopicCatalogTest {
+
+    @Mock private TopicRepository topicRepository;
+
+    private TopicCatalog catalog;
+
+    @BeforeEach
+    void setup() {
+        catalog = new TopicCatalog(topicRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reload_olderReloadFinishingLast_shouldNotOverwriteNewerSnapshot() throws Exception {
+        CountDownLatch slowReadStarted = new CountDownLatch(1);
+        CountDownLatch newerPublished = new CountDownLatch(1);
+        when(topicRepository.findAll())
+                .thenAnswer(invocation -> {
+                    slowReadStarted.countDown();
+                    assertTrue(newerPublished.await(5, TimeUnit.SECONDS));
+                    return List.of(topic(1L, "Old name"));
+                })
+                .thenReturn(List.of(topic(1L, "New name")));
+
+        CompletableFuture<Void> slowReload = CompletableFuture.runAsync(catalog::reload);
+        assertTrue(slowReadStarted.await(5, TimeUnit.SECONDS));
+        catalog.reload();
+        newerPublished.countDown();
+        slowReload.get(5, TimeUnit.SECONDS);
+
+        assertEquals("New name", catalog.getName(1L));
+    }
+
+    private Topic topic(Long id, String name) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setName(name);
+        return topic;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.forum_website.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.forum_website.enums.UserRole;
+import com.example.forum_website.model.User;
+import com.example.forum_website.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UserSnapshotCacheTest {
+
+    @Mock private UserRepository userRepository;
+
+    private UserSnapshotCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new UserSnapshotCache(userRepository, new SimpleMeterRegistry(), 2, 60);
+    }
+
+    @Test
+    void get_warmUser_shouldNotQueryRepositoryAgain() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "john")));
+
+        cache.get(1L);
+        Optional<UserSnapshot> snapshot = cache.get(1L);
+
+        assertEquals("john", snapshot.get().getUsername());
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void invalidate_shouldReloadOnNextGet() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "john")));
+
+        cache.get(1L);
+        cache.invalidate(1L);
+        cache.get(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void put_beyondMaxSize_shouldStayBounded() {
+        for (long id = 1; id <= 5; id++) {
+            when(userRepository.findById(id)).thenReturn(Optional.of(user(id, "user" + id)));
+            cache.get(id);
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    private User user(long id, String username) {
+        User user = new User(username, username + "@example.com", "hash", UserRole.USER);
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.forum_website.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+class PrecompressedResourceResolverTest {
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private ResourceHttpRequestHandler handler;
+    private byte[] bootstrap;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockServletContext servletContext = new MockServletContext();
+        StaticWebApplicationContext applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(servletContext);
+        LocaleConfig config = new LocaleConfig();
+        ReflectionTestUtils.setField(config, "precompressedResourceResolver", new PrecompressedResourceResolver());
+
+        // The handlers exactly as the application registers them, transformers included
+        var registry = new ResourceHandlerRegistry(applicationContext, servletContext) {
+            SimpleUrlHandlerMapping mapping() {
+                return (SimpleUrlHandlerMapping) getHandlerMapping();
+            }
+        };
+        config.addResourceHandlers(registry);
+        handler = (ResourceHttpRequestHandler) registry.mapping().getUrlMap().get("/css/**");
+        bootstrap = new ClassPathResource("static/css/bootstrap.min.css").getContentAsByteArray();
+    }
+
+    @Test
+    void get_fingerprintedCss_shouldBeImmutableInBothEncodings() throws Exception {
+        String path = "bootstrap.min-" + DigestUtils.md5DigestAsHex(bootstrap) + ".css";
+
+        MockHttpServletResponse identity = get(path, null);
+        assertEquals(200, identity.getStatus());
+        assertEquals(IMMUTABLE, identity.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.getHeader(HttpHeaders.VARY));
+        assertNull(identity.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(bootstrap, identity.getContentAsByteArray());
+
+        MockHttpServletResponse gzip = get(path, "gzip, deflate");
+        assertEquals(200, gzip.getStatus());
+        assertEquals(IMMUTABLE, gzip.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeader(HttpHeaders.VARY));
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+            assertArrayEquals(bootstrap, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void get_plainName_shouldRevalidateAndVaryInBothEncodings() throws Exception {
+        MockHttpServletResponse identity = get("bootstrap.min.css", null);
+        MockHttpServletResponse gzip = get("bootstrap.min.css", "gzip");
+
+        assertEquals("no-cache", identity.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("no-cache", gzip.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.getHeader(HttpHeaders.VARY));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeader(HttpHeaders.VARY));
+        assertArrayEquals(bootstrap, identity.getContentAsByteArray());
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/css/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.forum_website.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.forum_website.cache.TopicCatalog;
+import com.example.forum_website.config.SequenceInitializer;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImporterTest {
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234";
+
+    @Mock private TopicCatalog topicCatalog;
+    @Mock private SequenceInitializer sequenceInitializer;
+
+    @TempDir private Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Case-insensitive columns stand in for MySQL's default collation
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR_IGNORECASE(255), email VARCHAR_IGNORECASE(255), "
+                + "password VARCHAR(255), fullname VARCHAR(255), phone VARCHAR(255), role INT, "
+                + "avatar VARCHAR(255), email_new_post BOOLEAN NOT NULL, email_reply BOOLEAN NOT NULL, "
+                + "email_mention BOOLEAN NOT NULL, browser_notifications BOOLEAN NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE threads (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, content TEXT, "
+                + "excerpt VARCHAR(201), topic_id BIGINT NOT NULL, created_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, email_new_post, email_reply, "
+                + "email_mention, browser_notifications) VALUES (1, 'taken', 'taken@example.com', ?, 0, true, true, true, false)", HASH);
+        importer = new BulkImporter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                topicCatalog, sequenceInitializer, 2);
+    }
+
+    @Test
+    void importFile_users_shouldRejectPlainPasswordsAndDuplicatesInBulk() throws Exception {
+        Path source = dir.resolve("users.csv");
+        Files.writeString(source, String.join("\n",
+                "id,username,email,password,fullname,role",
+                "2,alice,alice@example.com," + HASH + ",\"Alice, A.\",ADMIN",
+                "3,bob,bob@example.com,plaintext,Bob,USER",
+                "4,TAKEN,other@example.com," + HASH + ",Dup,USER",
+                "5,carol,ALICE@example.com," + HASH + ",Dup email,USER",
+                "6,dave,dave@example.com," + HASH + ",\"Dave\nSecond line\",",
+                "1,taken,taken@example.com," + HASH + ",Already there,USER"));
+
+        ImportReport report = importer.importFile(ImportType.USERS, source, ImportFormat.CSV);
+
+        assertEquals(6, report.records());
+        assertEquals(2, report.imported());
+        assertEquals(1, report.skipped());
+        assertEquals(3, report.rejected());
+        assertEquals("Alice, A.", jdbcTemplate.queryForObject("SELECT fullname FROM users WHERE id = 2", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT role FROM users WHERE id = 2", Integer.class));
+        assertEquals("Dave\nSecond line", jdbcTemplate.queryForObject("SELECT fullname FROM users WHERE id = 6", String.class));
+        List<String> rejects = Files.readAllLines(dir.resolve("users.csv.rejected"));
+        assertEquals(List.of("record 2: password is not a BCrypt hash", "record 3: username already exists",
+                "record 4: email already exists"), rejects);
+        assertFalse(Files.exists(dir.resolve("users.csv.checkpoint")));
+        verify(sequenceInitializer).alignSequences();
+    }
+
+    @Test
+    void importFile_threadsAfterFailure_shouldResumeFromCheckpoint() throws Exception {
+        when(topicCatalog.contains(7L)).thenReturn(true);
+        Path source = dir.resolve("threads.jsonl");
+        Files.writeString(source, String.join("\n",
+                "{\"id\": 10, \"title\": \"First\", \"content\": \"One\", \"topic_id\": 7, \"created_at\": \"2020-01-01 10:00:00\"}",
+                "{\"id\": 11, \"title\": \"Second\", \"content\": \"Two\", \"topic_id\": 7}",
+                "{\"id\": 12, \"title\": \"Third\", \"content\": \"Three\", \"topic_id\": 7}",
+                "{\"id\": 13, \"title\": \"Fourth\", \"content\": \"Four\", \"topic_id\": 7}",
+                "{\"id\": 14, \"title\": \"Fifth\", \"content\": \"Five\", \"topic_id\": 7}"));
+        // The second batch fails on a row the file does not know about yet
+        jdbcTemplate.execute("CREATE TRIGGER fail_on_13 BEFORE INSERT ON threads FOR EACH ROW "
+                + "CALL \"" + FailOnThirteen.class.getName() + "\"");
+
+        assertThrows(Exception.class, () -> importer.importFile(ImportType.THREADS, source, ImportFormat.JSONL));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM threads", Integer.class));
+        assertTrue(Files.readString(dir.resolve("threads.jsonl.checkpoint")).contains("records=2"));
+
+        jdbcTemplate.execute("DROP TRIGGER fail_on_13");
+        ImportReport report = importer.importFile(ImportType.THREADS, source, ImportFormat.JSONL);
+
+        assertEquals(3, report.records());
+        assertEquals(3, report.imported());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM threads", Integer.class));
+        assertEquals("One", jdbcTemplate.queryForObject("SELECT excerpt FROM threads WHERE id = 10", String.class));
+    }
+
+    public static class FailOnThirteen extends org.h2.tools.TriggerAdapter {
+        @Override
+        public void fire(java.sql.Connection connection, java.sql.ResultSet oldRow, java.sql.ResultSet newRow)
+                throws java.sql.SQLException {
+            if (newRow.getLong("id") == 13) {
+                throw new java.sql.SQLException("simulated failure");
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.forum_website.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.UserRole;
+import com.example.forum_website.util.ExcerptUtil;
+
+/**
+ * Fills an empty schema with a synthetic forum. Every user shares one BCrypt hash of
+ * {@link #PASSWORD}, so seeding costs a single hash however many users are asked for.
+ * Rows are written with explicit ids; the caller realigns the id sequences afterwards.
+ */
+class DatasetSeeder {
+    static final String PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String passwordHash;
+
+    DatasetSeeder(JdbcTemplate jdbcTemplate, String passwordHash) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHash = passwordHash;
+    }
+
+    static String username(long id) {
+        return "user" + id;
+    }
+
+    void seed(int topics, int users, int threads) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= topics; id++) {
+            rows.add(new Object[] {id, "Topic " + id});
+            rows = flushIfFull("INSERT INTO topics (id, name) VALUES (?, ?)", rows, false);
+        }
+        flushIfFull("INSERT INTO topics (id, name) VALUES (?, ?)", rows, true);
+
+        String userSql = "INSERT INTO users (id, username, email, password, fullname, role, email_new_post,"
+                + " email_reply, email_mention, browser_notifications) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[] {id, username(id), username(id) + "@example.com", passwordHash, "User " + id,
+                    UserRole.USER.ordinal(), true, true, true, false});
+            rows = flushIfFull(userSql, rows, false);
+        }
+        flushIfFull(userSql, rows, true);
+
+        String threadSql = "INSERT INTO threads (id, title, content, excerpt, topic_id, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+        LocalDateTime start = LocalDateTime.now().minusMinutes(threads);
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= threads; id++) {
+            String content = "Thread " + id + " body. " + "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(8);
+            rows.add(new Object[] {id, "Thread " + id, content,
+                    ExcerptUtil.excerpt(content, AppConstants.THREAD_EXCERPT_LENGTH),
+                    id % topics + 1, Timestamp.valueOf(start.plusMinutes(id))});
+            rows = flushIfFull(threadSql, rows, false);
+        }
+        flushIfFull(threadSql, rows, true);
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> rows, boolean last) {
+        if (rows.isEmpty() || (!last && rows.size() < BATCH_SIZE)) {
+            return rows;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return new ArrayList<>(BATCH_SIZE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.forum_website.loadtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Adds a fixed delay to every statement execution, standing in for the network round trip to
+ * MySQL that an in-process H2 database does not have. The delay is a sleep, so the request
+ * thread blocks the way it would on a socket read.
+ */
+class LatencyInjectingDataSource implements BeanPostProcessor {
+    private final Duration latency;
+
+    LatencyInjectingDataSource(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource ? wrap(bean, DataSource.class) : bean;
+    }
+
+    private Object wrap(Object target, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                Thread.sleep(latency);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection && method.getReturnType() == Connection.class
+                    || result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrap(result, method.getReturnType());
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.forum_website.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.forum_website.ForumWebsiteApplication;
+import com.example.forum_website.cache.ThreadCountCache;
+import com.example.forum_website.cache.TopicCatalog;
+import com.example.forum_website.config.SequenceInitializer;
+import com.example.forum_website.constant.JwtConstants;
+
+/**
+ * End-to-end load harness: boots the application on an in-memory H2 database in MySQL mode,
+ * seeds it, then offers each endpoint a ladder of arrival rates until its p99 exceeds the target.
+ * <p>
+ * Run with {@code mvn -Pload-test test}. Settings are system properties, passed through by the
+ * profile: {@code loadtest.topics}, {@code loadtest.users}, {@code loadtest.threads},
+ * {@code loadtest.endpoints} (comma-separated names from {@link #endpoints}), {@code loadtest.rates}
+ * (requests per second), {@code loadtest.duration-seconds} per step and {@code loadtest.slo-p99-ms}.
+ * <p>
+ * {@code loadtest.modes=platform,virtual} repeats the whole run with requests on Tomcat's thread pool
+ * and then on virtual threads, printing the peak heap and platform thread count of every step and
+ * a side-by-side summary. {@code loadtest.db-latency-ms} delays every statement to stand in for
+ * the network round trip to MySQL; that blocking is where virtual threads differ. The connection
+ * pool still caps concurrent queries in both modes, so raise
+ * {@code spring.datasource.hikari.maximum-pool-size} along with it.
+ * <p>
+ * Client and server share the machine, so absolute numbers are a floor; compare runs made on the
+ * same hardware. H2 answers faster than a networked MySQL, which flatters database-bound endpoints.
+ */
+public class LoadTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final int LOGGED_IN_USERS = 20;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int topics = Integer.getInteger("loadtest.topics", 20);
+        int users = Integer.getInteger("loadtest.users", 1_000);
+        int threads = Integer.getInteger("loadtest.threads", 10_000);
+        List<String> selected = list(System.getProperty("loadtest.endpoints", "home,threads,login,current-user"));
+        List<String> modes = list(System.getProperty("loadtest.modes", "platform"));
+        int[] rates = list(System.getProperty("loadtest.rates", "50,100,200,400,800,1600")).stream()
+                .mapToInt(Integer::parseInt).toArray();
+        Duration step = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 10));
+        double sloMillis = Double.parseDouble(System.getProperty("loadtest.slo-p99-ms", "100"));
+        Duration dbLatency = Duration.ofMillis(Long.getLong("loadtest.db-latency-ms", 0));
+
+        // System properties outrank application.properties, and anything already given with -D wins.
+        // Rate limiting is off because every request comes from the one client address.
+        Map.ofEntries(
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "create"),
+                Map.entry("server.port", "0"),
+                Map.entry("spring.devtools.restart.enabled", "false"),
+                Map.entry("app.rate-limit.enabled", "false"),
+                Map.entry("logging.level.root", "WARN"),
+                Map.entry("logging.level.com.example.forum_website", "WARN"),
+                Map.entry("logging.level.org.springframework.web", "WARN"),
+                Map.entry("logging.level.org.hibernate.SQL", "WARN"),
+                Map.entry("logging.level.org.hibernate.orm.jdbc.bind", "WARN"))
+                .forEach((key, value) -> {
+                    if (System.getProperty(key) == null) {
+                        System.setProperty(key, value);
+                    }
+                });
+
+        Map<String, Map<String, Step>> best = new LinkedHashMap<>();
+        ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (String mode : modes) {
+                if (!mode.equals("platform") && !mode.equals("virtual")) {
+                    throw new IllegalArgumentException("Unknown mode " + mode + ", expected platform or virtual");
+                }
+                // Each mode gets its own application, database and index so nothing carries over
+                System.setProperty("spring.threads.virtual.enabled", String.valueOf(mode.equals("virtual")));
+                System.setProperty("spring.datasource.url", "jdbc:h2:mem:loadtest-" + mode
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+                System.setProperty("app.search.index-dir", Files.createTempDirectory("loadtest-search").toString());
+
+                SpringApplication application = new SpringApplication(ForumWebsiteApplication.class);
+                if (!dbLatency.isZero()) {
+                    application.addInitializers(context -> context.getBeanFactory()
+                            .addBeanPostProcessor(new LatencyInjectingDataSource(dbLatency)));
+                }
+                try (ConfigurableApplicationContext context = application.run(args)) {
+                    seed(context, topics, users, threads);
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    HttpClient client = HttpClient.newBuilder()
+                            .executor(clientExecutor)
+                            .connectTimeout(REQUEST_TIMEOUT)
+                            .build();
+                    URI base = URI.create("http://localhost:" + port);
+                    List<String> cookies = login(client, base, Math.min(users, LOGGED_IN_USERS));
+                    Map<String, Endpoint> endpoints = endpoints(base, users, threads, cookies);
+
+                    System.out.printf("%n[%s threads] Seeded %d topics, %d users, %d threads; p99 target %.0f ms, "
+                            + "database latency %d ms%n", mode, topics, users, threads, sloMillis, dbLatency.toMillis());
+                    OpenModelLoad load = new OpenModelLoad(client, REQUEST_TIMEOUT);
+                    for (String name : selected) {
+                        Endpoint endpoint = endpoints.get(name);
+                        if (endpoint == null) {
+                            throw new IllegalArgumentException("Unknown endpoint " + name + ", expected one of " + endpoints.keySet());
+                        }
+                        load.run(endpoint.requests(), endpoint.success(), rates[0], WARMUP);
+                        printHeader(name + " (" + endpoint.description() + ")");
+                        Map<String, Step> byMode = best.computeIfAbsent(name, n -> new LinkedHashMap<>());
+                        for (int rate : rates) {
+                            resetPeaks();
+                            Step result = new Step(load.run(endpoint.requests(), endpoint.success(), rate, step),
+                                    peakHeapBytes(), THREADS.getPeakThreadCount());
+                            printRow(result, sloMillis);
+                            if (result.load().percentileMillis(99) > sloMillis) {
+                                break;
+                            }
+                            byMode.put(mode, result);
+                        }
+                    }
+                }
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+        if (modes.size() > 1) {
+            printSummary(best, modes);
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int topics, int users, int threads) {
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(DatasetSeeder.PASSWORD);
+        new DatasetSeeder(context.getBean(JdbcTemplate.class), passwordHash).seed(topics, users, threads);
+        context.getBean(SequenceInitializer.class).alignSequences();
+        context.getBean(TopicCatalog.class).reload();
+        context.getBean(ThreadCountCache.class).refresh();
+    }
+
+    private static List<String> login(HttpClient client, URI base, int count) throws Exception {
+        List<String> cookies = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            HttpResponse<String> response = client.send(loginRequest(base, id), HttpResponse.BodyHandlers.ofString());
+            response.headers().allValues("Set-Cookie").stream()
+                    .filter(cookie -> cookie.startsWith(JwtConstants.TOKEN_COOKIE_NAME + "="))
+                    .map(cookie -> cookie.substring(0, cookie.indexOf(';') < 0 ? cookie.length() : cookie.indexOf(';')))
+                    .findFirst()
+                    .ifPresent(cookies::add);
+        }
+        if (cookies.isEmpty()) {
+            throw new IllegalStateException("Could not log in any seeded user");
+        }
+        return cookies;
+    }
+
+    private static HttpRequest loginRequest(URI base, long userId) {
+        String body = "{\"username\":\"" + DatasetSeeder.username(userId) + "\",\"password\":\"" + DatasetSeeder.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(base.resolve("/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, Endpoint> endpoints(URI base, int users, int threads, List<String> cookies) {
+        int pages = Math.max(1, Math.min(10, threads / 10));
+        Predicate<HttpResponse<String>> ok = response -> response.statusCode() == 200;
+        Predicate<HttpResponse<String>> apiOk = response -> response.statusCode() == 200
+                && response.body().contains("\"status\":\"ok\"");
+        return Map.of(
+                "home", new Endpoint("GET /", i -> get(base.resolve("/")), ok),
+                "threads", new Endpoint("GET /api/threads, first " + pages + " pages",
+                        i -> get(base.resolve("/api/threads?page=" + i % pages)), ok),
+                "login", new Endpoint("POST /login, " + users + " users",
+                        i -> loginRequest(base, i % users + 1), apiOk),
+                "current-user", new Endpoint("GET /api/settings/current-user, " + cookies.size() + " sessions",
+                        i -> HttpRequest.newBuilder(base.resolve("/api/settings/current-user"))
+                                .timeout(REQUEST_TIMEOUT)
+                                .header("Cookie", cookies.get((int) (i % cookies.size())))
+                                .build(),
+                        apiOk));
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private static void resetPeaks() {
+        THREADS.resetPeakThreadCount();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    // Sum of each pool's own peak, an upper bound on the heap in use at any one moment
+    private static long peakHeapBytes() {
+        return heapPools().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private static Stream<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP);
+    }
+
+    private static void printHeader(String title) {
+        System.out.printf("%n%s%n%8s %10s %9s %9s %9s %9s %8s %9s %8s%n", title,
+                "rate/s", "ok/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "heap MB", "threads");
+    }
+
+    private static void printRow(Step step, double sloMillis) {
+        OpenModelLoad.Result result = step.load();
+        System.out.printf("%8d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%% %9d %8d%s%n",
+                result.targetRate(), result.throughput(), result.percentileMillis(50), result.percentileMillis(99),
+                result.percentileMillis(99.9), result.maxMillis(), result.errorRate() * 100,
+                step.peakHeapBytes() >> 20, step.peakThreads(),
+                result.percentileMillis(99) > sloMillis ? "  <- p99 over target" : "");
+    }
+
+    // Highest rate each mode sustained within the p99 target, side by side
+    private static void printSummary(Map<String, Map<String, Step>> best, List<String> modes) {
+        System.out.printf("%nHighest rate within the p99 target%n%-16s %-9s %8s %10s %9s %9s %8s%n",
+                "endpoint", "threads", "rate/s", "ok/s", "p99 ms", "heap MB", "threads");
+        best.forEach((endpoint, byMode) -> modes.forEach(mode -> {
+            Step step = byMode.get(mode);
+            if (step == null) {
+                System.out.printf("%-16s %-9s %8s%n", endpoint, mode, "none");
+            } else {
+                System.out.printf("%-16s %-9s %8d %10.1f %9.2f %9d %8d%n", endpoint, mode,
+                        step.load().targetRate(), step.load().throughput(), step.load().percentileMillis(99),
+                        step.peakHeapBytes() >> 20, step.peakThreads());
+            }
+        }));
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    /** One rung of the ladder with the peak heap and platform thread count seen while it ran. */
+    private record Step(OpenModelLoad.Result load, long peakHeapBytes, int peakThreads) {
+    }
+
+    private record Endpoint(String description, LongFunction<HttpRequest> requests,
+            Predicate<HttpResponse<String>> success) {
+    }
+}
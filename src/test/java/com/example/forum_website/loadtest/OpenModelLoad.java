@@ -0,0 +1,86 @@
+package com.example.forum_website.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends requests at a fixed arrival rate whatever the server's response time, the way independent
+ * users do. Latency is measured from when a request was scheduled to start, not from when it was
+ * actually sent, so a stalled server shows up in the percentiles instead of silently lowering
+ * the offered load (coordinated omission).
+ */
+class OpenModelLoad {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    OpenModelLoad(HttpClient client, Duration requestTimeout) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * @param requests builds the i-th request of the run
+     * @param success  decides whether a completed response counts as a success
+     */
+    Result run(LongFunction<HttpRequest> requests, Predicate<HttpResponse<String>> success,
+            int ratePerSecond, Duration duration) throws InterruptedException {
+        long total = ratePerSecond * duration.toSeconds();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        LongAdder errors = new LongAdder();
+        CountDownLatch done = new CountDownLatch((int) total);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            client.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        latencies.recordValue(Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+                        if (failure != null || !success.test(response)) {
+                            errors.increment();
+                        }
+                        done.countDown();
+                    });
+        }
+        if (!done.await(requestTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+            errors.add(done.getCount());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new Result(ratePerSecond, total, errors.sum(), elapsedNanos, latencies.copy());
+    }
+
+    record Result(int targetRate, long requests, long errors, long elapsedNanos, Histogram latencies) {
+        double throughput() {
+            return (requests - errors) * 1e9 / elapsedNanos;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        double maxMillis() {
+            return latencies.getMaxValue() / 1e6;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.forum_website.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final AtomicInteger formatted = new AtomicInteger();
+    private RingBufferAppender appender;
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+    }
+
+    @Test
+    void append_shouldFormatOnceAndRouteByLevel() {
+        MemorySink all = sink(null, null);
+        MemorySink warnOnly = sink("WARN", null);
+        MemorySink errorAndAbove = sink(null, "ERROR");
+        appender = appender(64, all, warnOnly, errorAndAbove);
+
+        appender.doAppend(event(Level.INFO, "started"));
+        appender.doAppend(event(Level.WARN, "slow"));
+        appender.doAppend(event(Level.ERROR, "failed"));
+        appender.stop();
+
+        assertEquals(List.of("INFO started", "WARN slow", "ERROR failed"), all.lines);
+        assertEquals(List.of("WARN slow"), warnOnly.lines);
+        assertEquals(List.of("ERROR failed"), errorAndAbove.lines);
+        assertEquals(3, formatted.get());
+        assertTrue(all.flushes > 0 && all.flushes <= 3);
+    }
+
+    @Test
+    void append_whenWriterFallsBehind_shouldShedLowLevelsFirstWithoutBlocking() throws Exception {
+        MemorySink all = sink(null, null);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        all.block(writing, release);
+        appender = appender(16, all);
+        appender.setInfoSampleRate(4);
+
+        // The writer takes the first event and stalls on it while the ring fills
+        appender.doAppend(event(Level.INFO, "first"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 12; i++) {
+            appender.doAppend(event(Level.DEBUG, "filler"));
+        }
+        for (int i = 0; i < 8; i++) {
+            appender.doAppend(event(Level.DEBUG, "debug"));
+            appender.doAppend(event(Level.INFO, "info"));
+        }
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.ERROR, "error"));
+        }
+
+        // 12 of 16 slots is the overload mark: all later DEBUG goes, 2 of 8 INFO are kept,
+        // and ERROR fills the last 2 slots before being dropped too
+        assertEquals(8, appender.getDroppedCount(Level.DEBUG));
+        assertEquals(6, appender.getDroppedCount(Level.INFO));
+        assertEquals(2, appender.getDroppedCount(Level.ERROR));
+
+        release.countDown();
+        appender.stop();
+        assertEquals(1 + 12 + 2 + 2, all.lines.stream().filter(line -> !line.contains("dropped")).count());
+        assertTrue(all.lines.contains("WARN Logging is behind, dropped 8 DEBUG, 6 INFO, 2 ERROR events"));
+    }
+
+    private RingBufferAppender appender(int capacity, LogSink... sinks) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setCapacity(capacity);
+        appender.setFlushIntervalMs(5);
+        appender.setEncoder(new EncoderBase<>() {
+            @Override
+            public byte[] headerBytes() {
+                return null;
+            }
+
+            @Override
+            public byte[] encode(ILoggingEvent event) {
+                formatted.incrementAndGet();
+                return (event.getLevel() + " " + event.getFormattedMessage()).getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public byte[] footerBytes() {
+                return null;
+            }
+        });
+        for (LogSink sink : sinks) {
+            appender.addSink(sink);
+        }
+        appender.start();
+        return appender;
+    }
+
+    private MemorySink sink(String level, String threshold) {
+        MemorySink sink = new MemorySink();
+        sink.setContext(context);
+        if (level != null) {
+            sink.setLevel(level);
+        }
+        if (threshold != null) {
+            sink.setThreshold(threshold);
+        }
+        return sink;
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    private static class MemorySink extends LogSink {
+        private final List<String> lines = new CopyOnWriteArrayList<>();
+        private volatile int flushes;
+        private CountDownLatch writing;
+        private CountDownLatch release;
+
+        void block(CountDownLatch writing, CountDownLatch release) {
+            this.writing = writing;
+            this.release = release;
+        }
+
+        @Override
+        void write(byte[] formatted) {
+            if (release != null) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            lines.add(new String(formatted, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void flush() {
+            flushes++;
+        }
+
+        @Override
+        void close() {
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.forum_website.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SearchTokenizerTest {
+
+    @Test
+    void tokenize_vietnamese_shouldFoldDiacritics() {
+        assertEquals(List.of("dien", "dan", "thao", "luan"), SearchTokenizer.tokenizeForQuery("Diễn đàn: THẢO LUẬN!"));
+    }
+
+    @Test
+    void tokenize_japanese_shouldEmitBigramsAndIndexUnigrams() {
+        assertEquals(List.of("東京", "京都"), SearchTokenizer.tokenizeForQuery("東京都"));
+        assertEquals(List.of("東"), SearchTokenizer.tokenizeForQuery("東"));
+
+        List<String> indexed = SearchTokenizer.tokenizeForIndex("Java東京");
+        assertTrue(indexed.containsAll(List.of("java", "東", "京", "東京")));
+    }
+
+    @Test
+    void tokenize_fullWidthLatin_shouldMatchHalfWidth() {
+        assertEquals(SearchTokenizer.tokenizeForQuery("spring"), SearchTokenizer.tokenizeForQuery("ＳＰＲＩＮＧ"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.forum_website.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.example.forum_website.event.ThreadCreatedEvent;
+import com.example.forum_website.repository.ThreadRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadSearchIndexTest {
+
+    @Mock private ThreadRepository threadRepository;
+
+    @TempDir private Path indexDir;
+
+    @Test
+    void search_shouldRankTitleMatchesFirstAndPageWithCursor() {
+        ThreadSearchIndex index = newIndex();
+        index.onThreadCreated(thread(1L, "Hello", "spring boot caching tips"));
+        index.onThreadCreated(thread(2L, "Spring Boot", "how do I configure it"));
+        index.onThreadCreated(thread(3L, "Cooking", "nothing to see here"));
+
+        List<SearchHit> first = index.search("spring", null, 1);
+        assertEquals(1, first.size());
+        assertEquals(2L, first.get(0).threadId());
+
+        List<SearchHit> second = index.search("spring", first.get(0), 10);
+        assertEquals(List.of(1L), second.stream().map(SearchHit::threadId).toList());
+    }
+
+    @Test
+    void loadAndCatchUp_shouldReadSegmentsAndIndexEveryThreadMissingFromThem() throws Exception {
+        ThreadSearchIndex index = newIndex();
+        index.loadAndCatchUp();
+        index.onThreadCreated(thread(2L, "Diễn đàn", "giới thiệu"));
+        index.onThreadCreated(thread(4L, "東京の天気", "晴れ"));
+        index.flush();
+        assertTrue(Files.exists(indexDir.resolve("segment-000001.seg")));
+
+        // 1 and 3 committed late or were lost with an unwritten segment, 5 is new
+        when(threadRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(threadRepository.findForIndexing(List.of(1L, 3L, 5L))).thenReturn(List.of(
+                new IndexedThread(1L, "Chào", "diễn đàn cũ"),
+                new IndexedThread(3L, "Thảo luận", "diễn đàn mới"),
+                new IndexedThread(5L, "Other", "nothing")));
+        ThreadSearchIndex reopened = newIndex();
+        reopened.loadAndCatchUp();
+
+        assertEquals(5, reopened.size());
+        assertEquals(List.of(1L, 2L, 3L),
+                reopened.search("dien dan", null, 10).stream().map(SearchHit::threadId).sorted().toList());
+        assertEquals(List.of(4L), reopened.search("東京", null, 10).stream().map(SearchHit::threadId).toList());
+    }
+
+    @Test
+    void onThreadCreated_afterCatchUp_shouldIndexLateCommitsOnceWhateverTheirId() {
+        when(threadRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(5L));
+        when(threadRepository.findForIndexing(List.of(5L))).thenReturn(List.of(new IndexedThread(5L, "Newest", "text")));
+        ThreadSearchIndex index = newIndex();
+        index.loadAndCatchUp();
+
+        // A pooled id below the newest row, committed after the catch-up walked past it
+        index.onThreadCreated(thread(3L, "Late", "text"));
+        index.onThreadCreated(thread(5L, "Newest", "text"));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(3L), index.search("late", null, 10).stream().map(SearchHit::threadId).toList());
+    }
+
+    @Test
+    void requestCatchUp_shouldIndexRowsImportedWhileRunning() {
+        ThreadSearchIndex index = newIndex();
+        index.loadAndCatchUp();
+        index.onThreadCreated(thread(9L, "Live", "posted here"));
+
+        when(threadRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(2L, 9L));
+        when(threadRepository.findForIndexing(List.of(2L))).thenReturn(List.of(new IndexedThread(2L, "Imported", "legacy")));
+        index.requestCatchUp();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(2L), index.search("legacy", null, 10).stream().map(SearchHit::threadId).toList());
+    }
+
+    @Test
+    void flush_failedSegmentWrite_shouldRetryOnNextFlush() throws Exception {
+        Path blocked = indexDir.resolve("index");
+        Files.createFile(blocked);
+        ThreadSearchIndex index = new ThreadSearchIndex(threadRepository, Runnable::run, new SimpleMeterRegistry(),
+                blocked.toString(), 1000, 10);
+        index.loadAndCatchUp();
+        index.onThreadCreated(thread(1L, "Hello", "world"));
+        index.flush();
+        assertEquals(1, index.search("hello", null, 10).size());
+
+        Files.delete(blocked);
+        index.flush();
+
+        try (Stream<Path> files = Files.list(blocked)) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".seg")).count());
+        }
+    }
+
+    @Test
+    void loadAndCatchUp_mergeSourcesLeftOnDisk_shouldLoadEachThreadOnce() throws Exception {
+        ThreadSearchIndex index = new ThreadSearchIndex(threadRepository, Runnable::run, new SimpleMeterRegistry(),
+                indexDir.toString(), 1000, 2);
+        index.loadAndCatchUp();
+        index.onThreadCreated(thread(1L, "First", "diễn đàn"));
+        index.flush();
+        index.onThreadCreated(thread(2L, "Second", "diễn đàn"));
+        index.flush();
+        Path saved = Files.createDirectory(indexDir.resolve("saved"));
+        Files.copy(indexDir.resolve("segment-000001.seg"), saved.resolve("segment-000001.seg"));
+        Files.copy(indexDir.resolve("segment-000002.seg"), saved.resolve("segment-000002.seg"));
+        index.onThreadCreated(thread(3L, "Third", "other"));
+        index.flush();
+        assertEquals(1, index.segmentCount());
+
+        // A crash between writing the merged segment and deleting its sources
+        Files.copy(saved.resolve("segment-000001.seg"), indexDir.resolve("segment-000001.seg"));
+        Files.copy(saved.resolve("segment-000002.seg"), indexDir.resolve("segment-000002.seg"));
+        ThreadSearchIndex reopened = newIndex();
+        reopened.loadAndCatchUp();
+
+        assertEquals(3, reopened.size());
+        assertEquals(1, reopened.segmentCount());
+        assertTrue(Files.notExists(indexDir.resolve("segment-000001.seg")));
+        assertEquals(index.search("dien dan", null, 10), reopened.search("dien dan", null, 10));
+    }
+
+    @Test
+    void loadAndCatchUp_corruptSegment_shouldRebuildFromDatabase() throws Exception {
+        Files.write(indexDir.resolve("segment-000001.seg"), new byte[] {1, 2, 3});
+
+        ThreadSearchIndex index = newIndex();
+        index.loadAndCatchUp();
+
+        assertEquals(0, index.size());
+        assertTrue(Files.notExists(indexDir.resolve("segment-000001.seg")));
+        verify(threadRepository, never()).findForIndexing(anyList());
+    }
+
+    private ThreadSearchIndex newIndex() {
+        return new ThreadSearchIndex(threadRepository, Runnable::run, new SimpleMeterRegistry(),
+                indexDir.toString(), 1000, 10);
+    }
+
+    private ThreadCreatedEvent thread(Long id, String title, String content) {
+        return new ThreadCreatedEvent(id, title, content, 1L, LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.forum_website.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", "mysecretkey");
+        ReflectionTestUtils.setField(jwtUtil, "EXPIRATION", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtUtil, "negativeTtlSeconds", 60L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void validateToken_validToken_shouldReturnCachedClaims() {
+        String token = jwtUtil.generateToken(7L);
+
+        Claims first = jwtUtil.validateToken(token);
+        Claims second = jwtUtil.validateToken(token);
+
+        assertEquals(7L, first.get("id", Long.class));
+        assertSame(first, second);
+    }
+
+    @Test
+    void validateToken_forgedSignature_shouldReturnNull() {
+        String token = jwtUtil.generateToken(7L);
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA";
+
+        assertNull(jwtUtil.validateToken(forged));
+        assertNull(jwtUtil.validateToken(forged));
+    }
+
+    @Test
+    void validateToken_malformedToken_shouldReturnNull() {
+        assertNull(jwtUtil.validateToken("not-a-jwt"));
+        assertNull(jwtUtil.validateToken("a..b"));
+        assertNull(jwtUtil.validateToken(null));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.forum_website.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnPoolAndRecordTimings() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), executor(1, 4), meterRegistry, 5_000);
+
+        String hash = hasher.encode("secret123");
+
+        assertTrue(hasher.matches("secret123", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("forum.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("forum.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_queueFull_shouldRejectImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(blocking, executor(1, 1), meterRegistry, 5_000);
+
+        // One hash running, one waiting in the queue
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        while (executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> hasher.encode("c"));
+        assertEquals("auth.busy", e.getMessage());
+        assertEquals(AppConstants.PASSWORD_HASH_RETRY_AFTER_SECONDS, e.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("forum.password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.forum_website.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.forum_website.model.PasswordResetToken;
+import com.example.forum_website.repository.PasswordResetTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordResetTokenStoreTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock private PasswordResetTokenRepository tokenRepository;
+
+    private PasswordResetTokenStore store;
+
+    @BeforeEach
+    void setup() {
+        store = new PasswordResetTokenStore(tokenRepository, new SimpleMeterRegistry(), Duration.ofMinutes(30), 2, 10, CLOCK);
+    }
+
+    @Test
+    void issue_shouldStoreOnlyTheHashWithExpiry() {
+        String token = store.issue(7L);
+
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(tokenRepository).deleteByUser(7L);
+        verify(tokenRepository).save(saved.capture());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals(LocalDateTime.now(CLOCK).plusMinutes(30), saved.getValue().getExpiresAt());
+    }
+
+    @Test
+    void consume_validToken_shouldReturnUserOnce() {
+        when(tokenRepository.findByTokenHash(any())).thenReturn(Optional.of(token(1L, 7L, 5)));
+        when(tokenRepository.deleteOne(1L)).thenReturn(1, 0);
+
+        assertEquals(Optional.of(7L), store.consume("abc"));
+        // A concurrent or repeated use loses the delete
+        assertTrue(store.consume("abc").isEmpty());
+    }
+
+    @Test
+    void consume_expiredToken_shouldBeRejectedAndDeleted() {
+        when(tokenRepository.findByTokenHash(any())).thenReturn(Optional.of(token(1L, 7L, -1)));
+        when(tokenRepository.deleteOne(1L)).thenReturn(1);
+
+        assertTrue(store.consume("abc").isEmpty());
+        verify(tokenRepository).deleteOne(1L);
+    }
+
+    @Test
+    void sweepExpired_shouldDeleteInChunksUntilAShortOne() {
+        when(tokenRepository.findExpiredIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(tokenRepository.deleteByIds(anyList())).thenReturn(2, 2, 1);
+
+        store.sweepExpired();
+
+        verify(tokenRepository, times(3)).deleteByIds(anyList());
+    }
+
+    private static PasswordResetToken token(Long id, Long userId, long expiresInMinutes) {
+        PasswordResetToken token = new PasswordResetToken("hash", userId, LocalDateTime.now(CLOCK).plusMinutes(expiresInMinutes));
+        token.setId(id);
+        return token;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.forum_website.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.i18n.CookieLocaleResolver;
+
+import com.example.forum_website.constant.AppConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename(AppConstants.MESSAGES_BASENAME);
+        messageSource.setDefaultEncoding("UTF-8");
+        filter = new RateLimitFilter(messageSource, new CookieLocaleResolver(), new ObjectMapper(),
+                new SimpleMeterRegistry(), true, 1024, 100, 2, 5, 60, 5, 2);
+    }
+
+    @Test
+    void login_sameUsernameOverLimit_shouldAnswer429AndNotCallController() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.0." + i, "John"), response, chain);
+
+            assertEquals(200, response.getStatus());
+            // The controller still sees the whole body
+            String body = new String(((HttpServletRequest) chain.getRequest()).getInputStream().readAllBytes(),
+                    StandardCharsets.UTF_8);
+            assertEquals("{\"username\":\"John\",\"password\":\"secret123\"}", body);
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.9", "john"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":\"error\""));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void login_bodyPaddedPastInspectedSize_shouldAnswer413AndNotCallController() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = login("10.0.1." + i, "john");
+            // Whitespace Jackson would happily skip, enough to hide the username from a partial read
+            String padded = "{" + " ".repeat(5000) + "\"username\":\"john\",\"password\":\"guess" + i + "\"}";
+            request.setContent(padded.getBytes(StandardCharsets.UTF_8));
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+
+            assertEquals(413, response.getStatus());
+            assertNull(chain.getRequest());
+        }
+
+        // The padded attempts did not reach the controller, the normal ones are still counted per username
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.2." + i, "john"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.2.9", "john"), response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void replayedBody_shouldServeNonBlockingReaders() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("10.0.3.1", "jane"), new MockHttpServletResponse(), chain);
+
+        ServletInputStream in = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] done = new boolean[1];
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                done[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        });
+
+        assertTrue(done[0]);
+        assertEquals("{\"username\":\"jane\",\"password\":\"secret123\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void getRequests_shouldNotBeThrottled() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login");
+            request.setServletPath("/login");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletRequest login(String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret123\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.forum_website.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void acquire_afterBurst_shouldRejectUntilNextEmission() {
+        RateLimiter limiter = new RateLimiter(64, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("login|ip|10.0.0.1", 1_000, 3));
+        }
+        assertEquals(1_000, limiter.acquire("login|ip|10.0.0.1", 1_000, 3));
+
+        // Other keys keep their own budget
+        assertEquals(0, limiter.acquire("login|ip|10.0.0.2", 1_000, 3));
+
+        clock.addAndGet(400);
+        assertEquals(600, limiter.acquire("login|ip|10.0.0.1", 1_000, 3));
+        clock.addAndGet(600);
+        assertEquals(0, limiter.acquire("login|ip|10.0.0.1", 1_000, 3));
+        assertTrue(limiter.acquire("login|ip|10.0.0.1", 1_000, 3) > 0);
+    }
+
+    @Test
+    void acquire_moreKeysThanSlots_shouldEvictInsteadOfGrowing() {
+        RateLimiter limiter = new RateLimiter(16, clock::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(0, limiter.acquire("login|ip|" + i, 60_000, 1));
+        }
+
+        assertTrue(limiter.getEvictionCount() >= 1_000 - 16);
+    }
+}
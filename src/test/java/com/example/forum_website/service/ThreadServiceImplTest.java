@@ -0,0 +1,133 @@
+package com.example.forum_website.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.forum_website.cache.TopicCatalog;
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.dto.CreateThreadDto;
+import com.example.forum_website.dto.CursorPage;
+import com.example.forum_website.dto.ThreadSummaryDto;
+import com.example.forum_website.exception.ValidationException;
+import com.example.forum_website.model.Thread;
+import com.example.forum_website.repository.ThreadRepository;
+import com.example.forum_website.repository.TopicRepository;
+import com.example.forum_website.service.impl.ThreadServiceImpl;
+import com.example.forum_website.util.ExcerptUtil;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadServiceImplTest {
+
+    @Mock private ThreadRepository threadRepository;
+    @Mock private TopicCatalog topicCatalog;
+    @Mock private TopicRepository topicRepository;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @InjectMocks private ThreadServiceImpl threadService;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    void getThreadFeed_moreRowsThanPage_shouldReturnCursorToLastRow() {
+        when(threadRepository.findFeedFirst(any(Pageable.class))).thenReturn(threads(3));
+        when(topicCatalog.getName(1L)).thenReturn("General");
+
+        CursorPage<ThreadSummaryDto> page = threadService.getThreadFeed(null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals("General", page.getContent().get(0).getTopicName());
+        assertNotNull(page.getNext());
+
+        when(threadRepository.findFeedAfter(eq(NOW.minusMinutes(2)), eq(2L), any(Pageable.class)))
+                .thenReturn(threads(1));
+        CursorPage<ThreadSummaryDto> nextPage = threadService.getThreadFeed(page.getNext(), 2);
+
+        assertEquals(1, nextPage.getContent().size());
+        assertNull(nextPage.getNext());
+    }
+
+    @Test
+    void getThreadFeed_tamperedCursor_shouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> threadService.getThreadFeed("bm90LWEtY3Vyc29y", 2));
+    }
+
+    @Test
+    void createThread_unknownTopic_shouldThrowValidationExceptionWithoutSaving() {
+        when(topicCatalog.contains(99L)).thenReturn(false);
+
+        assertThrows(ValidationException.class,
+                () -> threadService.createThread(new CreateThreadDto("Title", "Content", 99L)));
+        verify(threadRepository, never()).save(any());
+    }
+
+    @Test
+    void createThreads_shouldFlushAndClearOncePerBatch() {
+        ReflectionTestUtils.setField(threadService, "batchSize", 2);
+        when(topicCatalog.contains(1L)).thenReturn(true);
+        List<CreateThreadDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            dtos.add(new CreateThreadDto("Title " + i, "Content " + i, 1L));
+        }
+
+        assertEquals(5, threadService.createThreads(dtos));
+        verify(threadRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void backfillExcerpts_shouldMatchExcerptUtilAndResumeAfterEachChunk() {
+        String content = "  First   line\n\nsecond " + "word ".repeat(60);
+        Thread first = thread(3L, content);
+        Thread second = thread(8L, "Short");
+        when(threadRepository.findWithoutExcerpt(eq(0L), any(Pageable.class))).thenReturn(List.of(first));
+        when(threadRepository.findWithoutExcerpt(eq(3L), any(Pageable.class))).thenReturn(List.of(second));
+        when(threadRepository.findWithoutExcerpt(eq(8L), any(Pageable.class))).thenReturn(List.of());
+
+        threadService.backfillExcerpts();
+
+        assertEquals(ExcerptUtil.excerpt(content, AppConstants.THREAD_EXCERPT_LENGTH), first.getExcerpt());
+        assertEquals("Short", second.getExcerpt());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    private Thread thread(Long id, String content) {
+        Thread thread = new Thread();
+        thread.setId(id);
+        thread.setContent(content);
+        return thread;
+    }
+
+    private List<ThreadSummaryDto> threads(int count) {
+        List<ThreadSummaryDto> threads = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            threads.add(new ThreadSummaryDto((long) i, "Thread " + i, "Excerpt " + i, 1L, NOW.minusMinutes(i)));
+        }
+        return threads;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.forum_website.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,25 +13,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.example.forum_website.cache.AccountNameFilter;
+import com.example.forum_website.cache.UserSnapshotCache;
 import com.example.forum_website.dto.ChangeProfileDto;
 import com.example.forum_website.dto.LoginDto;
 import com.example.forum_website.dto.RegisterDto;
+import com.example.forum_website.enums.ErrorCode;
 import com.example.forum_website.enums.UserRole;
+import com.example.forum_website.exception.AuthException;
 import com.example.forum_website.exception.DuplicateResourceException;
+import com.example.forum_website.exception.InvalidTokenException;
+import com.example.forum_website.exception.ServiceUnavailableException;
 import com.example.forum_website.model.User;
 import com.example.forum_website.repository.UserRepository;
 import com.example.forum_website.security.JwtUtil;
+import com.example.forum_website.security.PasswordHasher;
+import com.example.forum_website.security.PasswordResetTokenStore;
 import com.example.forum_website.service.impl.UserServiceImpl;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -39,10 +48,12 @@ import static org.mockito.Mockito.mock;
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
 
-    @Mock private AuthenticationManager authenticationManager;
     @Mock private UserRepository userRepository;
-    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private PasswordHasher passwordHasher;
     @Mock private JwtUtil jwtUtil;
+    @Mock private UserSnapshotCache userSnapshotCache;
+    @Mock private AccountNameFilter accountNameFilter;
+    @Mock private PasswordResetTokenStore passwordResetTokenStore;
 
     @InjectMocks private UserServiceImpl userService;
 
@@ -58,14 +69,9 @@ class UserServiceImplTest {
         loginDto.setUsername("john");
         loginDto.setPassword("password");
 
-        UserDetails principal = new org.springframework.security.core.userdetails.User(
-            "john", "hash", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-        );
-        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
-        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-
         User dbUser = new User("john", "john@example.com", "hash", UserRole.USER);
         when(userRepository.findByUsername("john")).thenReturn(Optional.of(dbUser));
+        when(passwordHasher.matches("password", "hash")).thenReturn(true);
 
         when(jwtUtil.generateToken(any(Long.class))).thenReturn("token-xyz");
         when(jwtUtil.getExpiration()).thenReturn(3600_000L);
@@ -76,6 +82,20 @@ class UserServiceImplTest {
         userService.authenticateAndSetToken(loginDto, response);
     }
 
+    @Test
+    void login_unknownUser_shouldStillHashAndThrowAuthException() {
+        // Given
+        LoginDto loginDto = new LoginDto();
+        loginDto.setUsername("ghost");
+        loginDto.setPassword("password");
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(AuthException.class,
+                () -> userService.authenticateAndSetToken(loginDto, mock(HttpServletResponse.class)));
+        verify(passwordHasher).matchesUnknownUser("password");
+    }
+
     @Test
     void register_duplicateUsername_shouldThrowDuplicateResourceException() {
         // Given
@@ -85,12 +105,31 @@ class UserServiceImplTest {
         dto.setPassword("pass1234");
         dto.setConfirmPassword("pass1234");
 
+        when(accountNameFilter.mightContainUsername("john")).thenReturn(true);
         when(userRepository.findByUsername("john")).thenReturn(Optional.of(new User()));
 
         // When / Then
         assertThrows(DuplicateResourceException.class, () -> userService.registerUser(dto));
     }
 
+    @Test
+    void register_concurrentDuplicateEmail_shouldMapUniqueKeyToDuplicateResourceException() {
+        // Given a name the filter has not seen, taken by a parallel registration before the insert
+        RegisterDto dto = new RegisterDto();
+        dto.setUsername("jane");
+        dto.setEmail("jane@example.com");
+        dto.setPassword("pass1234");
+        dto.setConfirmPassword("pass1234");
+
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "users.uk_users_email")));
+
+        // When / Then
+        DuplicateResourceException e = assertThrows(DuplicateResourceException.class, () -> userService.registerUser(dto));
+        assertEquals(ErrorCode.REGISTER_EMAIL_EXISTS, e.getCode());
+        verify(userRepository, never()).findByUsername("jane");
+    }
+
     @Test
     void updateProfile_emailDuplicate_shouldThrowDuplicateResourceException() {
         // Given current authenticated user
@@ -109,4 +148,22 @@ class UserServiceImplTest {
         // When / Then
         assertThrows(DuplicateResourceException.class, () -> userService.updateProfile(change));
     }
+
+    @Test
+    void resetPassword_usedToken_shouldThrowInvalidTokenException() {
+        when(passwordResetTokenStore.consume("used")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTokenException.class, () -> userService.resetPassword("used", "newpass1", "newpass1"));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void resetPassword_hasherBusy_shouldLeaveTokenUnused() {
+        when(passwordHasher.encode("newpass1"))
+                .thenThrow(new ServiceUnavailableException(ErrorCode.AUTH_BUSY, 1));
+
+        assertThrows(ServiceUnavailableException.class, () -> userService.resetPassword("valid", "newpass1", "newpass1"));
+        verify(passwordResetTokenStore, never()).consume(any());
+        verify(userRepository, never()).save(any(User.class));
+    }
 }
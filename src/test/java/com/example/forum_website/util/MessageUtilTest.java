@@ -0,0 +1,67 @@
+package com.example.forum_website.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import com.example.forum_website.constant.AppConstants;
+import com.example.forum_website.enums.ErrorCode;
+import com.example.forum_website.exception.AuthException;
+import com.example.forum_website.exception.UserNotFoundException;
+
+class MessageUtilTest {
+
+    private ResourceBundleMessageSource messageSource;
+    private MessageUtil messageUtil;
+
+    @BeforeEach
+    void setup() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename(AppConstants.MESSAGES_BASENAME);
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setUseCodeAsDefaultMessage(true);
+        messageUtil = new MessageUtil(messageSource);
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void resolveErrorMessage_shouldMatchMessageSourceInEverySupportedLocale() {
+        for (String language : AppConstants.SUPPORTED_LANGUAGES) {
+            Locale locale = Locale.forLanguageTag(language);
+            LocaleContextHolder.setLocale(locale);
+
+            assertEquals(messageSource.getMessage("auth.invalid", null, locale),
+                    messageUtil.resolveErrorMessage(new AuthException(ErrorCode.AUTH_INVALID)));
+            assertEquals(messageSource.getMessage("user.notFoundByUsername", new Object[] {"john"}, locale),
+                    messageUtil.resolveErrorMessage(new UserNotFoundException(ErrorCode.USER_NOT_FOUND_BY_USERNAME, "john")));
+        }
+    }
+
+    @Test
+    void resolveErrorMessage_unsupportedLocale_shouldFallBackToMessageSource() {
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+
+        assertEquals(messageSource.getMessage("user.notFoundById", new Object[] {"7"}, Locale.FRENCH),
+                messageUtil.resolveErrorMessage(new UserNotFoundException(ErrorCode.USER_NOT_FOUND_BY_ID, "7")));
+    }
+
+    @Test
+    void domainExceptions_shouldNotCaptureStackTraces() {
+        AuthException e = new AuthException(ErrorCode.AUTH_INVALID);
+
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("auth.invalid", e.getMessage());
+        assertNull(e.getCause());
+    }
+}